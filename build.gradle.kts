@@ -3,6 +3,7 @@ plugins {
     application
     id("org.openjfx.javafxplugin") version "0.0.13"
     id("org.beryx.jlink") version "2.24.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 val companyName = "MyCompany" // название вашей шедевро-компании
@@ -26,6 +27,9 @@ tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
+// инкубаторный модуль не разрешается сам по себе: без этого флага BatchFailure считает скалярным циклом
+val vectorJvmArgs = listOf("--add-modules", "jdk.incubator.vector")
+
 application {
     mainModule.set("org.example.presssimulation")
     mainClass.set("org.example.presssimulation.SimulationManager")
@@ -33,6 +37,64 @@ application {
 
 dependencies {
     implementation("org.yaml:snakeyaml:2.2")
+
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// тесты лежат в src/test/java без module-info и идут на classpath: ./gradlew test
+tasks.named<JavaCompile>("compileTestJava") {
+    options.compilerArgs.addAll(vectorJvmArgs)
+}
+tasks.test {
+    useJUnitPlatform()
+    jvmArgs(vectorJvmArgs)
+}
+
+// параметрический перебор без UI: ./gradlew sweep -PsweepArgs="--area 0.005:0.02:4 --max-pressure 100:300:5"
+tasks.register<JavaExec>("sweep") {
+    group = "application"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainModule.set("org.example.presssimulation")
+    mainClass.set("org.example.presssimulation.sweep.SweepRunner")
+    jvmArgs(vectorJvmArgs)
+    args = (project.findProperty("sweepArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+// прогон сценария без UI: ./gradlew scenario -PscenarioArgs="--scenario scenario.yaml --format json --out results.json"
+tasks.register<JavaExec>("scenario") {
+    group = "application"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainModule.set("org.example.presssimulation")
+    mainClass.set("org.example.presssimulation.sweep.ScenarioRunner")
+    jvmArgs(vectorJvmArgs)
+    args = (project.findProperty("scenarioArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+// сервис расчёта по HTTP: ./gradlew serve -PserveArgs="--port 8085 --max-concurrent 4"
+tasks.register<JavaExec>("serve") {
+    group = "application"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainModule.set("org.example.presssimulation")
+    mainClass.set("org.example.presssimulation.server.SimulationServer")
+    jvmArgs(vectorJvmArgs)
+    args = (project.findProperty("serveArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+// двоичный каталог материалов из YAML: ./gradlew convertCatalog -PcatalogArgs="settings.yaml materials.bin"
+tasks.register<JavaExec>("convertCatalog") {
+    group = "application"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainModule.set("org.example.presssimulation")
+    mainClass.set("org.example.presssimulation.MaterialCatalogFile")
+    args = (project.findProperty("catalogArgs") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+// бенчмарки лежат в src/jmh/java: ./gradlew jmh (фильтр: -PjmhIncludes=TickBenchmark)
+jmh {
+    resultFormat = "JSON"
+    (project.findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
 }
 
 javafx {
@@ -40,21 +102,47 @@ javafx {
     modules = listOf("javafx.controls")
 }
 
+// архив классов приложения собирается только по -PappCds (пробный запуск GUI требует дисплея),
+// без него образ использует базовый CDS-архив JDK от --generate-cds-archive
+val appCds = project.hasProperty("appCds")
+
+val launcherJvmArgs = listOf(
+    "-XX:+UseG1GC",
+    "-XX:MaxGCPauseMillis=20",
+    "-Xms512m",
+    "-Xmx1024m",
+    "-Xshare:auto" // без архива (или при несовпадении) JVM просто стартует без него
+)
+
 jlink {
-    options.set(listOf("--strip-debug", "--compress", "2", "--no-header-files", "--no-man-pages"))
+    // --generate-cds-archive: базовый CDS-архив классов JDK внутри образа, поверх него ложится lib/app.jsa
+    options.set(listOf("--strip-debug", "--compress", "2", "--no-header-files", "--no-man-pages", "--generate-cds-archive",
+        "--add-modules", "jdk.incubator.vector"))
 
     launcher {
         name = appName
 
-        jvmArgs = listOf(
-            "-XX:+UseG1GC",
-            "-XX:MaxGCPauseMillis=20",
-            "-Xms512m",
-            "-Xmx1024m"
-        )
+        jvmArgs = launcherJvmArgs + (if (appCds) listOf("-XX:SharedArchiveFile={{BIN_DIR}}/../lib/app.jsa") else emptyList())
+    }
+
+    // bin/press-scenario в том же образе: прогон сценариев на сервере сборки без дисплея
+    secondaryLauncher {
+        name = "press-scenario"
+        mainClass = "org.example.presssimulation.sweep.ScenarioRunner"
+        jvmArgs = listOf("-XX:+UseParallelGC", "-Xshare:auto") + vectorJvmArgs
+    }
+
+    // bin/press-server: HTTP-сервис расчёта для внешних систем
+    secondaryLauncher {
+        name = "press-server"
+        mainClass = "org.example.presssimulation.server.SimulationServer"
+        jvmArgs = listOf("-Xshare:auto") + vectorJvmArgs
     }
 
     jpackage {
+        // в установленном приложении образ лежит в runtime рядом с каталогом приложения
+        jvmArgs = launcherJvmArgs + (if (appCds) listOf("-XX:SharedArchiveFile=\$APPDIR/../runtime/lib/app.jsa") else emptyList())
+
         // папка, где будет находиться ваш будущий msi (можно поменять путь с ../build/installer на любой другой)
         val installerDir = layout.buildDirectory.dir("installer").get().asFile.absolutePath
         installerOptions.addAll(listOf("--verbose", "--dest", installerDir))
@@ -86,3 +174,29 @@ jlink {
         ))
     }
 }
+
+// AppCDS: пробный запуск собранного образа до первого кадра. Загруженные классы приложения,
+// JavaFX и SnakeYAML сохраняются в lib/app.jsa. Нужен дисплей, как и для обычного запуска, поэтому
+// упаковка ждёт его только по -PappCds: ./gradlew jpackage -PappCds
+val cdsArchive = tasks.register<Exec>("cdsArchive") {
+    group = "build"
+    dependsOn("jlink")
+
+    val imageDir = layout.buildDirectory.dir("image").get().asFile
+    val trainingDir = layout.buildDirectory.dir("cds-training").get().asFile
+    val javaExe = if (org.gradle.internal.os.OperatingSystem.current().isWindows) "bin/java.exe" else "bin/java"
+
+    workingDir = trainingDir
+    doFirst { trainingDir.mkdirs() }
+    executable = imageDir.resolve(javaExe).absolutePath
+    args(
+        "-XX:ArchiveClassesAtExit=" + imageDir.resolve("lib/app.jsa").absolutePath,
+        "-Dpress.exitAfterFirstFrame=true",
+        "--module", "org.example.presssimulation/org.example.presssimulation.SimulationManager"
+    )
+}
+
+if (appCds) {
+    tasks.named("jlinkZip") { dependsOn(cdsArchive) }
+    tasks.named("jpackageImage") { dependsOn(cdsArchive) }
+}
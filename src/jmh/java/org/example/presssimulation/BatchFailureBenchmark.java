@@ -0,0 +1,67 @@
+package org.example.presssimulation;
+
+import org.example.presssimulation.engine.BatchFailure;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Каталог × сетка давлений: векторное ядро против скалярного цикла (ядро выбирается при запуске JVM)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BatchFailureBenchmark {
+
+    @Param({"100000"})
+    public int materials;
+
+    @Param({"1000"})
+    public int pressures;
+
+    private BatchFailure batch;
+    private double[] pressureGrid;
+    private long[] mask;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(1);
+        double[] strength = new double[materials];
+        double[] area = new double[materials];
+        for (int i = 0; i < materials; i++) {
+            strength[i] = random.nextDouble(1, 500);
+            area[i] = random.nextDouble(0.001, 0.1);
+        }
+        batch = new BatchFailure(strength, area);
+        mask = new long[(materials + 63) / 64];
+
+        pressureGrid = new double[pressures];
+        for (int j = 0; j < pressures; j++)
+            pressureGrid[j] = j * 1_000_000.0;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public int[] countVector() {
+        return batch.countBroken(pressureGrid, 0.01);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dpress.scalarKernel=true")
+    public int[] countScalar() {
+        return batch.countBroken(pressureGrid, 0.01);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+    public int breaksVector() {
+        return batch.breaks(150_000_000, 0.01, mask);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dpress.scalarKernel=true")
+    public int breaksScalar() {
+        return batch.breaks(150_000_000, 0.01, mask);
+    }
+}
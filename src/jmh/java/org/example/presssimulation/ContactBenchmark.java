@@ -0,0 +1,32 @@
+package org.example.presssimulation;
+
+import org.example.presssimulation.engine.PressEngine;
+import org.example.presssimulation.engine.SpecimenState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactBenchmark {
+
+    @Param({"0", "105", "210"})
+    public double extension;
+
+    private PressEngine engine;
+
+    @Setup
+    public void setup() {
+        engine = new PressEngine(new SpecimenState("Сталь", 250, false, 0.01), 0.01, 150_000_000, 10_000_000);
+        engine.getPiston().extend(extension);
+    }
+
+    @Benchmark
+    public boolean isContact() {
+        return engine.isContact();
+    }
+}
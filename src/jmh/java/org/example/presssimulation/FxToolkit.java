@@ -0,0 +1,22 @@
+package org.example.presssimulation;
+
+import javafx.application.Platform;
+
+// Узлы JavaFX (Text, шрифты) требуют запущенного тулкита даже без окна
+final class FxToolkit {
+    private static boolean started = false;
+
+    private FxToolkit() {}
+
+    static synchronized void start() {
+        if (started)
+            return;
+
+        try {
+            Platform.startup(() -> {});
+        } catch (IllegalStateException alreadyStarted) {
+            // тулкит уже запущен в этом JVM
+        }
+        started = true;
+    }
+}
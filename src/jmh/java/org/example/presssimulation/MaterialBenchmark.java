@@ -0,0 +1,24 @@
+package org.example.presssimulation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaterialBenchmark {
+
+    @Setup
+    public void setup() {
+        FxToolkit.start();
+    }
+
+    @Benchmark
+    public Material construct() {
+        return new Material(350, 260, "Стекло", 50, true, 0.01);
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.presssimulation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Время от запуска JVM до первого кадра окна (приложение закрывается само после первого кадра).
+// appcds: перед замером пробный запуск пишет архив классов, замеры идут с ним. Нужен дисплей.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"default", "appcds"})
+    public String sharing;
+
+    private Path directory;
+    private Path archive;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory("press-startup-bench");
+        archive = directory.resolve("app.jsa");
+
+        if (sharing.equals("appcds"))
+            launch("-XX:ArchiveClassesAtExit=" + archive);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int firstFrame() throws IOException, InterruptedException {
+        return sharing.equals("appcds")
+            ? launch("-XX:SharedArchiveFile=" + archive)
+            : launch("-Xshare:auto");
+    }
+
+    private int launch(String sharingOption) throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        List<String> command = new ArrayList<>(List.of(
+            java, sharingOption,
+            "-Dpress.exitAfterFirstFrame=true",
+            "-cp", System.getProperty("java.class.path"),
+            StartupProbe.class.getName()
+        ));
+
+        Process process = new ProcessBuilder(command)
+            .directory(directory.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(new File(directory.toFile(), "startup.log"))
+            .start();
+
+        int exitCode = process.waitFor();
+        if (exitCode != 0)
+            throw new IllegalStateException("Приложение завершилось с кодом " + exitCode + ", см. " + directory.resolve("startup.log"));
+        return exitCode;
+    }
+}
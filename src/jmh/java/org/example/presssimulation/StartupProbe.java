@@ -0,0 +1,13 @@
+package org.example.presssimulation;
+
+import javafx.application.Application;
+
+// Запуск приложения с classpath: главный класс не должен наследовать Application,
+// иначе лаунчер java требует JavaFX на module path
+public final class StartupProbe {
+    private StartupProbe() {}
+
+    public static void main(String[] args) {
+        Application.launch(SimulationManager.class, args);
+    }
+}
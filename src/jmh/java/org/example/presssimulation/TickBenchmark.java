@@ -0,0 +1,53 @@
+package org.example.presssimulation;
+
+import org.example.presssimulation.engine.PressEngine;
+import org.example.presssimulation.engine.SpecimenState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Один кадр пресса: через узлы JavaFX и через чистый движок
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+    private static final double FRAME = 1.0 / 60;
+
+    private Piston piston;
+    private Material material;
+    private PressEngine engine;
+    private double pressure;
+
+    @Setup
+    public void setup() {
+        FxToolkit.start();
+
+        piston = new Piston(70, 250, 0.01);
+        material = new Material(350, 260, "Бетон", 30, true, 0.01);
+
+        engine = new PressEngine(new SpecimenState("Бетон", 30, true, 0.01), 0.01, 150_000_000, 10_000_000);
+        engine.setAutoMode(true);
+    }
+
+    @Benchmark
+    public Material pistonAndMaterialUpdate() {
+        // давление не доходит до разрушения, иначе applyForce перестаёт что-либо делать
+        pressure = (pressure + 100_000) % 29_000_000;
+
+        piston.setHydraulicPressure(pressure);
+        material.applyForce(piston.getCurrentForce());
+        return material;
+    }
+
+    @Benchmark
+    public double engineStep() {
+        engine.step(FRAME);
+        if (engine.getSpecimen().isBroken())
+            engine.reset();
+
+        return engine.getForce();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.presssimulation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Загрузка и сохранение каталогов разного размера
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class YamlBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    public int catalogSize;
+
+    private Path directory;
+    private String catalogFile;
+    private String outputFile;
+    private SettingsSnapshot catalog;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        FxToolkit.start();
+
+        directory = Files.createTempDirectory("press-yaml-bench");
+        catalogFile = directory.resolve("catalog.yaml").toString();
+        outputFile = directory.resolve("saved.yaml").toString();
+
+        List<MaterialConfig> materials = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++)
+            materials.add(new MaterialConfig("Материал " + i, 10 + i % 400, i % 3 == 0, 0.01));
+
+        catalog = new SettingsSnapshot(SystemSettings.DEFAULT, materials);
+        YamlManager.saveAll(catalogFile, catalog);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(catalogFile));
+        Files.deleteIfExists(Path.of(outputFile));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public SettingsSnapshot loadSnapshot() {
+        return YamlManager.loadSnapshot(catalogFile);
+    }
+
+    @Benchmark
+    public List<Material> loadMaterials() {
+        return YamlManager.loadMaterials(catalogFile, 350, 260);
+    }
+
+    @Benchmark
+    public void saveAll() {
+        YamlManager.saveAll(outputFile, catalog);
+    }
+}
@@ -1,6 +1,16 @@
 module org.example.presssimulation {
     requires javafx.controls;
     requires org.yaml.snakeyaml;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
+    // векторное ядро BatchFailure; без модуля в образе работает скалярный цикл
+    requires static jdk.incubator.vector;
 
     exports org.example.presssimulation;
+    exports org.example.presssimulation.engine;
+    exports org.example.presssimulation.sweep;
+    exports org.example.presssimulation.diagnostics;
+    exports org.example.presssimulation.server;
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package org.example.presssimulation;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import org.example.presssimulation.engine.PistonState;
+import org.example.presssimulation.engine.PressLine;
+
+// Отрисовка прессов на одном Canvas без узлов сцены: труба, поршень и образец рисуются прямоугольниками каждый кадр.
+// Геометрия та же, что у Piston и Material в основном окне.
+class CanvasPressRenderer {
+    static final double STATION_WIDTH = 440;
+    static final double STATION_HEIGHT = 140;
+
+    private static final double TUBE_WIDTH = 400;
+    private static final double TUBE_HEIGHT = 120;
+    private static final double PISTON_OFFSET = 20;
+    private static final double PISTON_HEIGHT = 100;
+    private static final double BASE_WIDTH = 40;
+    private static final double PRESS_WIDTH = PistonState.PRESS_WIDTH / 2;
+    private static final double SPECIMEN_OFFSET = TUBE_WIDTH - 20 - Material.MATERIAL_SIZE;
+
+    private static final double MIN_STROKE_SCALE = 0.3; // мельче обводка только тратит время
+    private static final double MIN_TEXT_SCALE = 0.45;
+
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    private final Font font = Font.font(10);
+
+    CanvasPressRenderer(Canvas canvas) {
+        this.canvas = canvas;
+        this.gc = canvas.getGraphicsContext2D();
+    }
+
+    // Масштаб, при котором count станций помещаются на холст сеткой
+    double fitScale(int count) {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+
+        double scale = 1;
+        while (scale > 0.02) {
+            int columns = Math.max(1, (int) (width / (STATION_WIDTH * scale)));
+            int rows = (int) (height / (STATION_HEIGHT * scale));
+            if ((long) columns * rows >= count)
+                return scale;
+            scale *= 0.9;
+        }
+        return scale;
+    }
+
+    void render(PressLine line, double scale) {
+        clear();
+
+        int columns = Math.max(1, (int) (canvas.getWidth() / (STATION_WIDTH * scale)));
+        int rows = (int) Math.ceil(canvas.getHeight() / (STATION_HEIGHT * scale));
+        int visible = (int) Math.min(line.size(), (long) columns * rows);
+
+        for (int i = 0; i < visible; i++) {
+            drawStation(
+                (i % columns) * STATION_WIDTH * scale,
+                (i / columns) * STATION_HEIGHT * scale,
+                scale,
+                line.getExtension(i),
+                line.getForceRatio(i),
+                line.isBroken(i),
+                line.getName(i)
+            );
+        }
+    }
+
+    void clear() {
+        gc.setFill(Color.LIGHTGRAY);
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    void drawStation(double x, double y, double scale, double extension, double forceRatio, boolean broken, String name) {
+        boolean stroke = scale >= MIN_STROKE_SCALE;
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+
+        // Труба
+        gc.setFill(Color.GRAY);
+        rect(x, y, TUBE_WIDTH * scale, TUBE_HEIGHT * scale, stroke);
+
+        // Поршень: основание, шток и прижим
+        double pistonX = x + PISTON_OFFSET * scale;
+        double pistonY = y + (TUBE_HEIGHT - PISTON_HEIGHT) / 2 * scale;
+
+        gc.setFill(Color.DARKGRAY);
+        rect(pistonX, pistonY, BASE_WIDTH * scale, PISTON_HEIGHT * scale, stroke);
+
+        gc.setFill(Color.DARKBLUE);
+        if (extension > 0)
+            rect(pistonX + BASE_WIDTH * scale, pistonY + 10 * scale, extension * scale, (PISTON_HEIGHT - 20) * scale, stroke);
+        rect(pistonX + (BASE_WIDTH + extension) * scale, pistonY, PRESS_WIDTH * scale, PISTON_HEIGHT * scale, stroke);
+
+        // Образец
+        double specimenX = x + SPECIMEN_OFFSET * scale;
+        double specimenY = y + (TUBE_HEIGHT - Material.MATERIAL_SIZE) / 2 * scale;
+        double size = Material.MATERIAL_SIZE * scale;
+
+        gc.setFill(broken ? Material.BROKEN_COLOR : Material.feedbackColor(forceRatio));
+        rect(specimenX, specimenY, size, size, stroke);
+
+        if (scale >= MIN_TEXT_SCALE) {
+            gc.setFill(Color.BLACK);
+            gc.setFont(font);
+            gc.fillText(name, specimenX + 4, specimenY + 14);
+            if (broken)
+                gc.fillText("РАЗРУШЕН!", specimenX + 4, specimenY + size - 6);
+        }
+    }
+
+    private void rect(double x, double y, double width, double height, boolean stroke) {
+        gc.fillRect(x, y, width, height);
+        if (stroke)
+            gc.strokeRect(x, y, width, height);
+    }
+}
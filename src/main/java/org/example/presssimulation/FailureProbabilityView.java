@@ -0,0 +1,183 @@
+package org.example.presssimulation;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Slider;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.example.presssimulation.engine.FailureCurve;
+import org.example.presssimulation.engine.MonteCarloFailure;
+import org.example.presssimulation.engine.WeibullStrength;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Окно с кривой вероятности разрушения от давления по методу Монте-Карло.
+// Пересчёт идёт в фоне; пока считается одна кривая, новые движения ползунков сливаются в один следующий пересчёт.
+class FailureProbabilityView {
+    private static final int POINTS = 201;
+    private static final long DEFAULT_SEED = 42;
+
+    private final Stage stage = new Stage();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "monte-carlo");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Slider modulusSlider = new Slider(0, 30, 10);
+    private final Slider areaSlider = new Slider(0.001, 0.1, 0.01);
+    private final Slider samplesSlider = new Slider(3, 7, 6); // десятичный логарифм числа образцов
+    private final Label modulusValue = new Label();
+    private final Label areaValue = new Label();
+    private final Label samplesValue = new Label();
+    private final Label statusLabel = new Label();
+
+    private final ObservableList<XYChart.Data<Number, Number>> estimate = createPoints();
+    private final ObservableList<XYChart.Data<Number, Number>> lower = createPoints();
+    private final ObservableList<XYChart.Data<Number, Number>> upper = createPoints();
+    private final ObservableList<XYChart.Data<Number, Number>> theory = createPoints();
+
+    private MaterialConfig material;
+    private long seed = DEFAULT_SEED;
+    private boolean computing = false;
+    private boolean dirty = false;
+
+    FailureProbabilityView() {
+        NumberAxis xAxis = new NumberAxis();
+        xAxis.setLabel("Давление, МПа");
+        NumberAxis yAxis = new NumberAxis();
+        yAxis.setLabel("Вероятность разрушения");
+
+        LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
+        chart.setAnimated(false);
+        chart.setCreateSymbols(false);
+        chart.getData().add(new XYChart.Series<>("Оценка", estimate));
+        chart.getData().add(new XYChart.Series<>("Нижняя граница 95%", lower));
+        chart.getData().add(new XYChart.Series<>("Верхняя граница 95%", upper));
+        chart.getData().add(new XYChart.Series<>("Теория", theory));
+
+        modulusSlider.setShowTickLabels(true);
+        modulusSlider.setMajorTickUnit(5);
+        areaSlider.setShowTickLabels(true);
+        areaSlider.setMajorTickUnit(0.02);
+        samplesSlider.setShowTickLabels(true);
+        samplesSlider.setMajorTickUnit(1);
+
+        modulusSlider.valueProperty().addListener((obs, oldVal, newVal) -> recompute());
+        areaSlider.valueProperty().addListener((obs, oldVal, newVal) -> recompute());
+        samplesSlider.valueProperty().addListener((obs, oldVal, newVal) -> recompute());
+
+        Button resampleButton = new Button("Новая выборка");
+        resampleButton.setOnAction(e -> {
+            seed++;
+            recompute();
+        });
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(5);
+        grid.addRow(0, new Label("Модуль Вейбулла:"), modulusSlider, modulusValue);
+        grid.addRow(1, new Label("Площадь поршня:"), areaSlider, areaValue);
+        grid.addRow(2, new Label("Образцов (10^n):"), samplesSlider, samplesValue);
+
+        VBox root = new VBox(5, chart, grid, resampleButton, statusLabel);
+        root.setPadding(new Insets(5));
+        VBox.setVgrow(chart, Priority.ALWAYS);
+
+        stage.setTitle("Вероятность разрушения");
+        stage.setScene(new Scene(root, 700, 550));
+    }
+
+    void show(MaterialConfig material, double pistonArea) {
+        this.material = material;
+        modulusSlider.setValue(material.getWeibullModulus());
+        areaSlider.setValue(pistonArea);
+        recompute();
+        stage.show();
+        stage.toFront();
+    }
+
+    private void recompute() {
+        if (material == null)
+            return;
+        if (computing) {
+            dirty = true;
+            return;
+        }
+        computing = true;
+
+        // параметры снимаются в FX-потоке, расчёт идёт с копией
+        double modulus = modulusSlider.getValue() < 0.5 ? 0 : modulusSlider.getValue();
+        double pistonArea = areaSlider.getValue();
+        long samples = Math.round(Math.pow(10, samplesSlider.getValue()));
+        long runSeed = seed;
+        String name = material.getName();
+        WeibullStrength strength = material.toStrengthDistribution(modulus);
+        MonteCarloFailure monteCarlo = new MonteCarloFailure(strength, material.getContactArea(), pistonArea);
+
+        modulusValue.setText(modulus == 0 ? "без разброса" : String.format("%.1f", modulus));
+        areaValue.setText(String.format("%.3f м²", pistonArea));
+        samplesValue.setText(String.format("%,d", samples));
+
+        CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            FailureCurve curve = monteCarlo.estimate(2 * monteCarlo.characteristicPressure(), POINTS, samples, runSeed);
+            return new Result(name, runSeed, curve, strength, monteCarlo, (System.nanoTime() - start) / 1_000_000);
+        }, worker).whenComplete((result, error) -> Platform.runLater(() -> {
+            computing = false;
+            if (error != null)
+                statusLabel.setText("Ошибка расчёта: " + error.getMessage());
+            else
+                display(result);
+
+            if (dirty) {
+                dirty = false;
+                recompute();
+            }
+        }));
+    }
+
+    private void display(Result result) {
+        FailureCurve curve = result.curve();
+        double stressToPressure = result.monteCarlo().characteristicPressure() / result.strength().scale();
+
+        for (int k = 0; k < curve.size(); k++) {
+            double pressureMPa = curve.pressures()[k] / 1_000_000;
+            set(estimate, k, pressureMPa, curve.probability()[k]);
+            set(lower, k, pressureMPa, curve.lower()[k]);
+            set(upper, k, pressureMPa, curve.upper()[k]);
+            set(theory, k, pressureMPa, result.strength().failureProbability(curve.pressures()[k] / stressToPressure));
+        }
+
+        // подпись по параметрам этого расчёта: seed и материал могли смениться, пока он шёл
+        statusLabel.setText(String.format("%s: %,d образцов, seed %d, расчёт %d мс",
+            result.name(), curve.samples(), result.seed(), result.millis()));
+    }
+
+    private static void set(ObservableList<XYChart.Data<Number, Number>> points, int k, double x, double y) {
+        XYChart.Data<Number, Number> point = points.get(k);
+        point.setXValue(x);
+        point.setYValue(y);
+    }
+    private static ObservableList<XYChart.Data<Number, Number>> createPoints() {
+        ObservableList<XYChart.Data<Number, Number>> points = FXCollections.observableArrayList();
+        for (int i = 0; i < POINTS; i++)
+            points.add(new XYChart.Data<>(0, 0));
+        return points;
+    }
+
+    private record Result(String name, long seed, FailureCurve curve, WeibullStrength strength, MonteCarloFailure monteCarlo,
+                          long millis) {}
+}
@@ -4,29 +4,31 @@ import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
+import org.example.presssimulation.engine.SpecimenState;
 
 public class Material extends Pane {
     public static final double MATERIAL_SIZE = 80;
 
-    private static final Color DEFAULT_COLOR = Color.GOLD;
-    private static final Color BROKEN_COLOR = Color.DARKGRAY;
+    static final Color DEFAULT_COLOR = Color.GOLD;
+    static final Color BROKEN_COLOR = Color.DARKGRAY;
+
+    private static final String FORCE_STYLE = "-fx-font-size: 10;";
+    private static final String BROKEN_STYLE = "-fx-font-size: 10; -fx-font-weight: bold;";
 
     private Rectangle shape;
-    private final String name;
+    private final SpecimenState state; // вся физика образца живёт в движке
     private final double size;
-    private final double compressiveStrength; // предел прочности на сжатие в Паскалях
-    private final double destructionForce; // разрушающая сила в Ньютонах (рассчитывается автоматически)
-    private final double contactArea; // площадь контакта в м²
-    private final boolean isFragile;
-    private boolean isBroken = false;
-    private double currentForce = 0;
+    private double weibullModulus; // только для обратного перевода в MaterialConfig, физика образца - в state
+
+    private Text statusText; // единственная подпись, которая меняется во время нажатия
+    private boolean shownBroken = false;
+    private long shownForceKn = Long.MIN_VALUE;
 
     public Material(double x, double y, String name, double compressiveStrengthMPa, boolean isFragile, double contactArea) {
-        this.name = name;
-        this.compressiveStrength = compressiveStrengthMPa * 1_000_000; // Конвертируем МПа в Па
-        this.destructionForce = this.compressiveStrength * contactArea; // F = σ × A
-        this.isFragile = isFragile;
-        this.contactArea = contactArea;
+        this(x, y, new SpecimenState(name, compressiveStrengthMPa, isFragile, contactArea));
+    }
+    public Material(double x, double y, SpecimenState state) {
+        this.state = state;
         this.size = MATERIAL_SIZE;
 
         createShape(x, y, size);
@@ -57,69 +59,71 @@ public class Material extends Pane {
     }
 
     private void createLabel() {
+        double gap = 5;
+
+        // Название материала, предел прочности, разрушающая сила и тип не меняются - создаются один раз
+        getChildren().addAll(
+            createText(gap, 15, state.getName(), "-fx-font-size: 12; -fx-font-weight: bold;"),
+            createText(gap, 30, String.format("σ=%.0f МПа", state.getCompressiveStrength() / 1_000_000), "-fx-font-size: 10;"),
+            createText(gap, 45, String.format("Fразр=%.0f кН", state.getDestructionForce() / 1000), "-fx-font-size: 9;"),
+            createText(gap, 60, state.isFragile() ? "Хрупкий" : "Пластичный", "-fx-font-size: 9;")
+        );
+
+        // Текущее состояние
+        statusText = createText(gap, 75, "", FORCE_STYLE);
+        getChildren().add(statusText);
+
         updateLabel();
     }
+    private static Text createText(double x, double y, String text, String style) {
+        Text node = new Text(x, y, text);
+        node.setFill(Color.BLACK);
+        node.setStyle(style);
+        return node;
+    }
     private void updateVisualFeedback() {
-        double forceRatio = currentForce / destructionForce;
-
+        shape.setFill(feedbackColor(state.getForceRatio()));
+    }
+    // Цвет образца по доле от разрушающей силы (общий для узлов и Canvas)
+    static Color feedbackColor(double forceRatio) {
         if (forceRatio > 0.9) {
-            shape.setFill(Color.RED);
+            return Color.RED;
         } else if (forceRatio > 0.7) {
-            shape.setFill(Color.ORANGERED);
+            return Color.ORANGERED;
         } else if (forceRatio > 0.5) {
-            shape.setFill(Color.DARKORANGE);
+            return Color.DARKORANGE;
         } else if (forceRatio > 0.3) {
-            shape.setFill(Color.ORANGE);
+            return Color.ORANGE;
         } else {
-            shape.setFill(Color.GOLD);
+            return DEFAULT_COLOR;
         }
     }
     private void updateLabel() {
-        getChildren().removeIf(node -> node instanceof Text);
-
-        double gap = 5;
+        if (state.isBroken()) {
+            if (!shownBroken) {
+                statusText.setText("РАЗРУШЕН!");
+                statusText.setStyle(BROKEN_STYLE);
+                shownBroken = true;
+            }
+            return;
+        }
 
-        // Название материала
-        Text label = new Text(gap, 15, name);
-        label.setFill(Color.BLACK);
-        label.setStyle("-fx-font-size: 12; -fx-font-weight: bold;");
-        getChildren().add(label);
-
-        // Предел прочности
-        Text strengthText = new Text(gap, 30, String.format("σ=%.0f МПа", compressiveStrength / 1_000_000));
-        strengthText.setFill(Color.BLACK);
-        strengthText.setStyle("-fx-font-size: 10;");
-        getChildren().add(strengthText);
-
-        // Разрушающая сила
-        Text forceText = new Text(gap, 45, String.format("Fразр=%.0f кН", destructionForce / 1000));
-        forceText.setFill(Color.BLACK);
-        forceText.setStyle("-fx-font-size: 9;");
-        getChildren().add(forceText);
-
-        // Тип материала
-        Text fragileText = new Text(gap, 60, isFragile ? "Хрупкий" : "Пластичный");
-        fragileText.setFill(Color.BLACK);
-        fragileText.setStyle("-fx-font-size: 9;");
-        getChildren().add(fragileText);
+        if (shownBroken) {
+            statusText.setStyle(FORCE_STYLE);
+            shownBroken = false;
+            shownForceKn = Long.MIN_VALUE;
+        }
 
-        // Текущее состояние
-        if (isBroken) {
-            Text brokenText = new Text(gap, 75, "РАЗРУШЕН!");
-            brokenText.setFill(Color.BLACK);
-            brokenText.setStyle("-fx-font-size: 10; -fx-font-weight: bold;");
-            getChildren().add(brokenText);
-        } else {
-            Text currentForceText = new Text(gap, 75, String.format("F=%.0f кН", currentForce / 1000));
-            currentForceText.setFill(Color.BLACK);
-            currentForceText.setStyle("-fx-font-size: 10;");
-            getChildren().add(currentForceText);
+        // текст меняется только когда меняется отображаемое значение в кН
+        long forceKn = Math.round(state.getCurrentForce() / 1000);
+        if (forceKn != shownForceKn) {
+            shownForceKn = forceKn;
+            statusText.setText("F=" + forceKn + " кН");
         }
     }
 
     public void reset() {
-        isBroken = false;
-        currentForce = 0;
+        state.reset();
         shape.setFill(DEFAULT_COLOR);
         shape.setStroke(Color.BLACK);
         shape.setScaleX(1.0);
@@ -128,23 +132,21 @@ public class Material extends Pane {
     }
 
     public void applyForce(double force) {
-        if (isBroken)
+        if (state.isBroken())
             return;
 
-        currentForce = force;
+        state.applyForce(force);
+        refresh();
+    }
 
-        if (force >= destructionForce) // F >= σ × A
-            breakMaterial();
+    // Перерисовка по текущему состоянию движка (сила уже приложена в PressEngine.step)
+    public void refresh() {
+        if (state.isBroken())
+            shape.setFill(BROKEN_COLOR);
 
         updateLabel();
         updateVisualFeedback();
     }
-    private void breakMaterial() {
-        isBroken = true;
-        shape.setFill(BROKEN_COLOR);
-
-        updateLabel();
-    }
 
     public double getX() {
         return getLayoutX();
@@ -152,10 +154,13 @@ public class Material extends Pane {
     public double getY() {
         return getLayoutY();
     }
-    public String getName() { return name; }
-    public double getCompressiveStrength() { return compressiveStrength; }
-    public double getDestructionForce() { return destructionForce; }
-    public double getContactArea() { return contactArea; }
-    public boolean isBroken() { return isBroken; }
-    public boolean isFragile() { return isFragile; }
+    public SpecimenState getState() { return state; }
+    public String getName() { return state.getName(); }
+    public double getCompressiveStrength() { return state.getCompressiveStrength(); }
+    public double getDestructionForce() { return state.getDestructionForce(); }
+    public double getContactArea() { return state.getContactArea(); }
+    public boolean isBroken() { return state.isBroken(); }
+    public boolean isFragile() { return state.isFragile(); }
+    public double getWeibullModulus() { return weibullModulus; }
+    public void setWeibullModulus(double weibullModulus) { this.weibullModulus = weibullModulus; }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package org.example.presssimulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Двоичный каталог материалов с записями фиксированной длины, читается через отображение файла в память.
+// Открытие не разбирает файл: запись декодируется только при обращении по индексу.
+//
+// Формат (big-endian):
+//   заголовок 16 байт: magic "PRSC", версия, число записей, зарезервировано
+//   записи по 40 байт: смещение имени (long), strength_mpa (double), contact_area (double),
+//                       weibull_modulus (double), длина имени (int), fragile (byte), 3 байта выравнивания
+//   далее имена подряд в UTF-8
+// Версия 1 (записи по 32 байта) была без weibull_modulus: разброс прочности терялся, такие файлы не открываются.
+public class MaterialCatalogFile extends AbstractList<MaterialConfig> implements RandomAccess {
+    public static final String DEFAULT_FILE = "materials.bin";
+
+    private static final int MAGIC = 0x50525343; // "PRSC"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 40;
+
+    private static final int NAME_OFFSET = 0;
+    private static final int STRENGTH = 8;
+    private static final int CONTACT_AREA = 16;
+    private static final int WEIBULL_MODULUS = 24;
+    private static final int NAME_LENGTH = 32;
+    private static final int FRAGILE = 36;
+
+    private final int count;
+    private final MappedByteBuffer records;
+    private final MappedByteBuffer names;
+
+    private MaterialCatalogFile(int count, MappedByteBuffer records, MappedByteBuffer names) {
+        this.count = count;
+        this.records = records;
+        this.names = names;
+    }
+
+    public static MaterialCatalogFile open(String fileName) {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0);
+            header.flip();
+
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                System.err.println("Файл не является каталогом материалов: " + fileName);
+                return null;
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                System.err.println("Каталог " + fileName + " версии " + version + ", нужна версия " + VERSION
+                    + " - пересоберите его из YAML: ./gradlew convertCatalog");
+                return null;
+            }
+            int count = header.getInt();
+
+            long recordsSize = (long) count * RECORD_SIZE;
+            long namesStart = HEADER_SIZE + recordsSize;
+            long namesSize = channel.size() - namesStart;
+            if (count < 0 || namesSize < 0 || recordsSize > Integer.MAX_VALUE || namesSize > Integer.MAX_VALUE) {
+                System.err.println("Повреждённый или слишком большой каталог: " + fileName);
+                return null;
+            }
+
+            // отображение остаётся действительным и после закрытия канала
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, recordsSize);
+            MappedByteBuffer names = channel.map(FileChannel.MapMode.READ_ONLY, namesStart, namesSize);
+            return new MaterialCatalogFile(count, records, names);
+        } catch (IOException e) {
+            System.err.println("Ошибка открытия каталога: " + e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public MaterialConfig get(int index) {
+        return new MaterialConfig(getName(index), getStrengthMPa(index), isFragile(index), getContactArea(index),
+            getWeibullModulus(index));
+    }
+
+    public String getName(int index) {
+        int record = recordOffset(index);
+        byte[] bytes = new byte[records.getInt(record + NAME_LENGTH)];
+        names.get((int) records.getLong(record + NAME_OFFSET), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    public double getStrengthMPa(int index) {
+        return records.getDouble(recordOffset(index) + STRENGTH);
+    }
+    public boolean isFragile(int index) {
+        return records.get(recordOffset(index) + FRAGILE) != 0;
+    }
+    public double getContactArea(int index) {
+        return records.getDouble(recordOffset(index) + CONTACT_AREA);
+    }
+    public double getWeibullModulus(int index) {
+        return records.getDouble(recordOffset(index) + WEIBULL_MODULUS);
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException("Индекс " + index + " вне каталога из " + count + " записей");
+        return index * RECORD_SIZE;
+    }
+
+    public static void write(String fileName, List<MaterialConfig> materials) throws IOException {
+        Path target = Path.of(fileName).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+                buffer.putInt(MAGIC).putInt(VERSION).putInt(materials.size()).putInt(0);
+
+                // сначала записи, имена дописываются вторым проходом в том же порядке
+                long nameOffset = 0;
+                for (MaterialConfig material : materials) {
+                    int nameLength = material.getName().getBytes(StandardCharsets.UTF_8).length;
+                    if (buffer.remaining() < RECORD_SIZE)
+                        drain(channel, buffer);
+
+                    buffer.putLong(nameOffset)
+                        .putDouble(material.getCompressiveStrengthMPa())
+                        .putDouble(material.getContactArea())
+                        .putDouble(material.getWeibullModulus())
+                        .putInt(nameLength)
+                        .put((byte) (material.isFragile() ? 1 : 0))
+                        .put(new byte[3]);
+                    nameOffset += nameLength;
+                }
+
+                for (MaterialConfig material : materials) {
+                    byte[] name = material.getName().getBytes(StandardCharsets.UTF_8);
+                    if (buffer.remaining() < name.length)
+                        drain(channel, buffer);
+                    if (name.length > buffer.capacity())
+                        channel.write(ByteBuffer.wrap(name));
+                    else
+                        buffer.put(name);
+                }
+                drain(channel, buffer);
+                channel.force(true);
+            }
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    // Преобразование раздела materials из YAML: ./gradlew convertCatalog -PcatalogArgs="settings.yaml materials.bin"
+    public static void main(String[] args) {
+        String yamlFile = args.length > 0 ? args[0] : YamlManager.SETTINGS_FILE;
+        String catalogFile = args.length > 1 ? args[1] : DEFAULT_FILE;
+
+        // каталог читается потоком: в памяти только сами записи, без дерева YAML-документа
+        List<MaterialConfig> materials = new ArrayList<>();
+        YamlManager.StreamResult result = YamlManager.streamMaterials(yamlFile, materials::add,
+            progress -> System.out.printf("\rЧтение %s: %.0f%%", yamlFile, progress * 100));
+        System.out.println();
+        if (result == null) {
+            System.err.println("Не удалось загрузить материалы из " + yamlFile);
+            System.exit(1);
+        }
+
+        try {
+            write(catalogFile, materials);
+            System.out.printf("Записано материалов: %d в %s%n", materials.size(), catalogFile);
+        } catch (IOException e) {
+            System.err.println("Ошибка записи каталога: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -1,19 +1,30 @@
 package org.example.presssimulation;
 
+import org.example.presssimulation.engine.DiscretizedSpecimen;
+import org.example.presssimulation.engine.SpecimenState;
+import org.example.presssimulation.engine.WeibullStrength;
+
+import java.util.Objects;
+
 public class MaterialConfig {
     private String name;
     private double compressiveStrengthMPa;
     private boolean fragile;
     private double contactArea;
+    private double weibullModulus; // разброс прочности по Вейбуллу, 0 - прочность детерминирована
 
     // Конструкторы
     public MaterialConfig() {}
 
     public MaterialConfig(String name, double compressiveStrengthMPa, boolean fragile, double contactArea) {
+        this(name, compressiveStrengthMPa, fragile, contactArea, 0);
+    }
+    public MaterialConfig(String name, double compressiveStrengthMPa, boolean fragile, double contactArea, double weibullModulus) {
         this.name = name;
         this.compressiveStrengthMPa = compressiveStrengthMPa;
         this.fragile = fragile;
         this.contactArea = contactArea;
+        this.weibullModulus = weibullModulus;
     }
 
     public String getName() { return name; }
@@ -28,15 +39,51 @@ public class MaterialConfig {
     public double getContactArea() { return contactArea; }
     public void setContactArea(double contactArea) { this.contactArea = contactArea; }
 
+    public double getWeibullModulus() { return weibullModulus; }
+    public void setWeibullModulus(double weibullModulus) { this.weibullModulus = weibullModulus; }
+
     public Material toMaterial(double x, double y) {
-        return new Material(x, y, name, compressiveStrengthMPa, fragile, contactArea);
+        Material material = new Material(x, y, name, compressiveStrengthMPa, fragile, contactArea);
+        material.setWeibullModulus(weibullModulus);
+        return material;
+    }
+    public SpecimenState toSpecimen() {
+        return new SpecimenState(name, compressiveStrengthMPa, fragile, contactArea);
+    }
+    // elements > 0 - образец из элементов вдоль оси; разброс прочности элементов повторяется от запуска к запуску
+    public SpecimenState toSpecimen(int elements) {
+        if (elements <= 0)
+            return toSpecimen();
+        return new DiscretizedSpecimen(name, compressiveStrengthMPa, fragile, contactArea, weibullModulus, elements,
+            Objects.hashCode(name));
+    }
+    // Прочность из файла - характерная (63% образцов разрушаются не выше неё).
+    // Разброс передаётся явно: окно вероятности разрушения берёт его с ползунка, а не из каталога
+    public WeibullStrength toStrengthDistribution(double weibullModulus) {
+        return new WeibullStrength(compressiveStrengthMPa * 1_000_000, weibullModulus);
     }
     public static MaterialConfig fromMaterial(Material material) {
         return new MaterialConfig(
             material.getName(),
             material.getCompressiveStrength() / 1_000_000,
             material.isFragile(),
-            material.getContactArea()
+            material.getContactArea(),
+            material.getWeibullModulus()
         );
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MaterialConfig other)) return false;
+        return Double.compare(compressiveStrengthMPa, other.compressiveStrengthMPa) == 0
+            && fragile == other.fragile
+            && Double.compare(contactArea, other.contactArea) == 0
+            && Double.compare(weibullModulus, other.weibullModulus) == 0
+            && Objects.equals(name, other.name);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, compressiveStrengthMPa, fragile, contactArea, weibullModulus);
+    }
 }
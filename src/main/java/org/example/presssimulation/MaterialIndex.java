@@ -0,0 +1,148 @@
+package org.example.presssimulation;
+
+import org.example.presssimulation.engine.BatchFailure;
+
+import java.util.*;
+
+// Индекс каталога материалов для фильтрации по мере ввода.
+// Запрос: слова - начало названия, ">100" / "<300" - границы прочности в МПа,
+// "хрупкий" / "пластичный" - тип, "@150" - разрушается при давлении 150 МПа на поршень этой площади.
+// Перебираются только кандидаты из самого узкого диапазона.
+public class MaterialIndex {
+    private final List<MaterialConfig> catalog;
+
+    // позиции каталога, отсортированные по названию (в нижнем регистре) и по прочности
+    private final int[] byName;
+    private final String[] sortedNames;
+    private final int[] byStrength;
+    private final double[] sortedStrength;
+    private final BitSet fragile;
+    private final BatchFailure failure; // разрушающие силы в порядке каталога
+
+    public MaterialIndex(List<MaterialConfig> catalog) {
+        this.catalog = catalog;
+        int size = catalog.size();
+
+        String[] names = new String[size];
+        double[] strength = new double[size];
+        double[] area = new double[size];
+        fragile = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            MaterialConfig config = catalog.get(i);
+            names[i] = normalize(config.getName());
+            strength[i] = config.getCompressiveStrengthMPa();
+            area[i] = config.getContactArea();
+            if (config.isFragile())
+                fragile.set(i);
+        }
+        failure = new BatchFailure(strength, area);
+
+        byName = sortedPositions(size, Comparator.comparing(i -> names[i]));
+        byStrength = sortedPositions(size, Comparator.comparingDouble(i -> strength[i]));
+
+        sortedNames = new String[size];
+        sortedStrength = new double[size];
+        for (int i = 0; i < size; i++) {
+            sortedNames[i] = names[byName[i]];
+            sortedStrength[i] = strength[byStrength[i]];
+        }
+    }
+
+    public int size() {
+        return catalog.size();
+    }
+
+    public List<MaterialConfig> search(String query, int limit, double pistonArea) {
+        double minStrength = Double.NEGATIVE_INFINITY;
+        double maxStrength = Double.POSITIVE_INFINITY;
+        Boolean wantFragile = null;
+        long[] broken = null;
+
+        StringBuilder name = new StringBuilder();
+        for (String token : query.trim().split("\\s+")) {
+            String word = normalize(token);
+            try {
+                if (word.startsWith(">")) { minStrength = Double.parseDouble(word.substring(1)); continue; }
+                if (word.startsWith("<")) { maxStrength = Double.parseDouble(word.substring(1)); continue; }
+                if (word.startsWith("@")) {
+                    double pressure = Double.parseDouble(word.substring(1)) * 1_000_000;
+                    broken = new long[(size() + 63) >>> 6];
+                    failure.breaks(pressure, pistonArea, broken);
+                    continue;
+                }
+            } catch (NumberFormatException e) {
+                // не число - считаем частью названия
+            }
+            if (word.equals("хрупкий")) { wantFragile = true; continue; }
+            if (word.equals("пластичный")) { wantFragile = false; continue; }
+
+            if (!word.isEmpty()) {
+                if (!name.isEmpty()) name.append(' ');
+                name.append(word);
+            }
+        }
+        String prefix = name.toString();
+
+        int nameFrom = lowerBound(sortedNames, prefix);
+        int nameTo = lowerBound(sortedNames, prefix + Character.MAX_VALUE);
+        int strengthFrom = lowerBound(sortedStrength, minStrength, false);
+        int strengthTo = lowerBound(sortedStrength, maxStrength, true);
+
+        boolean scanNames = nameTo - nameFrom <= strengthTo - strengthFrom;
+        int[] order = scanNames ? byName : byStrength;
+        int from = scanNames ? nameFrom : strengthFrom;
+        int to = scanNames ? nameTo : strengthTo;
+
+        List<MaterialConfig> result = new ArrayList<>(Math.min(limit, Math.max(to - from, 0)));
+        for (int k = from; k < to && result.size() < limit; k++) {
+            int i = order[k];
+            MaterialConfig config = catalog.get(i);
+            double strength = config.getCompressiveStrengthMPa();
+
+            if (strength < minStrength || strength > maxStrength) continue;
+            if (wantFragile != null && fragile.get(i) != wantFragile) continue;
+            if (broken != null && (broken[i >>> 6] & 1L << i) == 0) continue;
+            if (!scanNames && !normalize(config.getName()).startsWith(prefix)) continue;
+
+            result.add(config);
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] sortedPositions(int size, Comparator<Integer> order) {
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++)
+            boxed[i] = i;
+        Arrays.sort(boxed, order);
+
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++)
+            positions[i] = boxed[i];
+        return positions;
+    }
+
+    // первая позиция, где значение не меньше key
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+    // первая позиция, где значение больше key (inclusive) или не меньше key
+    private static int lowerBound(double[] sorted, double key, boolean inclusive) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key || (inclusive && sorted[mid] == key)) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.presssimulation;
+
+import javafx.scene.control.Label;
+import org.example.presssimulation.diagnostics.PressMetrics;
+
+// Наложение поверх сцены (F3): FPS, p99 времени кадра и выделение памяти на кадр за последнюю секунду
+class MetricsOverlay extends Label {
+    private static final long UPDATE_NANOS = 500_000_000L;
+
+    private final PressMetrics metrics;
+    private long lastUpdate;
+
+    MetricsOverlay(PressMetrics metrics) {
+        this.metrics = metrics;
+
+        setLayoutX(5);
+        setLayoutY(5);
+        setMouseTransparent(true);
+        setStyle("-fx-font-family: monospace; -fx-font-size: 11; -fx-text-fill: white; -fx-background-color: rgba(0,0,0,0.6); -fx-padding: 3 6;");
+        setVisible(false);
+    }
+
+    void toggle() {
+        setVisible(!isVisible());
+        lastUpdate = 0;
+    }
+
+    void update(long now) {
+        if (!isVisible() || now - lastUpdate < UPDATE_NANOS)
+            return;
+
+        lastUpdate = now;
+        setText(String.format("FPS: %.0f   кадр p99: %.2f мс   память/кадр: %.1f КБ",
+            metrics.getFramesPerSecond(),
+            metrics.getRecentTickP99Micros() / 1000,
+            metrics.getAllocatedBytesPerFrame() / 1024));
+    }
+}
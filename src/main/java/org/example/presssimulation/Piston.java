@@ -3,29 +3,30 @@ package org.example.presssimulation;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
+import org.example.presssimulation.engine.PistonState;
 
 class Piston extends Pane {
 
     private final double HEIGHT = 100;
     private final double BASE_WIDTH = 40;
-    private final double PRESS_WIDTH = 60;
+    private final double PRESS_WIDTH = PistonState.PRESS_WIDTH;
 
-    private final double maxExtension = 210;
-    private double pistonArea; // такая же площадь как у материала
+    private final PistonState state; // положение и сила поршня считаются в движке
 
     private Rectangle base;
     private Rectangle extension;
     private Rectangle press;
 
-    private double currentExtension = 0;
     private final double startX;
     private final double startY;
-    private double currentForce = 0;
 
     public Piston(double x, double y, double area) {
+        this(x, y, new PistonState(area));
+    }
+    public Piston(double x, double y, PistonState state) {
         this.startX = x;
         this.startY = y;
-        this.pistonArea = area;
+        this.state = state;
 
         createBase();
         createExtension();
@@ -54,47 +55,50 @@ class Piston extends Pane {
     }
 
     private void updatePosition() {
+        updatePosition(state.getExtension());
+    }
+    private void updatePosition(double currentExtension) {
         setLayoutX(startX);
         setLayoutY(startY);
 
         extension.setWidth(currentExtension);
         press.setX(BASE_WIDTH + currentExtension);
     }
+    public void refresh() {
+        updatePosition();
+    }
+    // alpha - доля шага движка, прошедшая с последнего шага (см. FixedStepIntegrator)
+    public void refresh(double alpha) {
+        updatePosition(state.getInterpolatedExtension(alpha));
+    }
     public void reset(){
-        this.currentExtension = 0;
-        setHydraulicPressure(0);
+        state.reset();
         updatePosition();
     }
 
     public void extend(double amount) {
-        if(currentExtension == maxExtension)
-            return;
-
-        if (currentExtension + amount > maxExtension)
-            amount = maxExtension - currentExtension;
-
-        currentExtension += amount;
+        state.extend(amount);
         updatePosition();
     }
     public void retract(double amount) {
-        if(currentExtension == 0)
-            return;
-
-        currentExtension -= currentExtension - amount >= 0 ? amount : currentExtension;
+        state.retract(amount);
         updatePosition();
     }
 
     public void setHydraulicPressure(double pressure) {
-        this.currentForce = pressure * pistonArea; // F = P × A
+        state.setHydraulicPressure(pressure);
     }
     public double getPistonTotalWidth() {
-        return currentExtension + PRESS_WIDTH + 10;
+        return state.getTotalWidth();
     }
     public double getCurrentForce() {
-        return currentForce;
+        return state.getForce();
     }
 
     public void setPistonArea(double pistonArea) {
-        this.pistonArea = pistonArea;
+        state.setArea(pistonArea);
+    }
+    public PistonState getState() {
+        return state;
     }
-}
\ No newline at end of file
+}
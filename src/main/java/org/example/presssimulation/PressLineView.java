@@ -0,0 +1,159 @@
+package org.example.presssimulation;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+import org.example.presssimulation.engine.FixedStepIntegrator;
+import org.example.presssimulation.engine.PressLine;
+import org.example.presssimulation.engine.PressureProfile;
+
+import java.util.List;
+
+// Окно "линии прессов": много независимых станций в авто режиме, нарисованных на одном Canvas.
+// Станции считаются одним циклом в PressLine, на холст попадают только те, что помещаются.
+class PressLineView {
+    private static final double CANVAS_WIDTH = 1000;
+    private static final double CANVAS_HEIGHT = 700;
+    private static final double HOLD_SECONDS = 1; // пауза перед загрузкой следующего образца
+    private static final int MIN_DRAWN_SCALE_STATIONS = 1000; // больше станций считаем, но рисуем в масштабе для 1000
+
+    private final Stage stage = new Stage();
+    private final CanvasPressRenderer renderer;
+    private final Label statusLabel = new Label();
+    private final AnimationTimer timer;
+    private PressLine line = new PressLine(0);
+    private FixedStepIntegrator integrator = new FixedStepIntegrator(line::step, FixedStepIntegrator.DEFAULT_STEP, FixedStepIntegrator.DEFAULT_MAX_SUBSTEPS);
+
+    private List<MaterialConfig> materials = List.of();
+    private double contactArea;
+    private double maxPressure;
+    private double pressureIncrement;
+    private PressureProfile profile;
+    private double timeStep = FixedStepIntegrator.DEFAULT_STEP;
+    private int maxSubSteps = FixedStepIntegrator.DEFAULT_MAX_SUBSTEPS;
+
+    private double[] holdTime = new double[0];
+    private int nextMaterial = 0;
+    private double scale = 1;
+
+    PressLineView() {
+        Canvas canvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
+        renderer = new CanvasPressRenderer(canvas);
+
+        ComboBox<Integer> countBox = new ComboBox<>();
+        countBox.getItems().addAll(1, 16, 100, 400, 1000, 10_000, 100_000);
+        countBox.setValue(100);
+        countBox.setFocusTraversable(false);
+        countBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null) createStations(newVal);
+        });
+
+        HBox toolbar = new HBox(10, new Label("Станций:"), countBox, statusLabel);
+        toolbar.setPadding(new Insets(5));
+
+        BorderPane root = new BorderPane();
+        root.setTop(toolbar);
+        root.setCenter(canvas);
+
+        stage.setTitle("Линия прессов");
+        stage.setScene(new Scene(root));
+        stage.setOnHidden(e -> stop());
+
+        timer = new AnimationTimer() {
+            private long lastUpdate = 0;
+            private long frames = 0;
+            private long fpsStart = 0;
+
+            @Override
+            public void stop() {
+                super.stop();
+                lastUpdate = 0;
+            }
+
+            @Override
+            public void handle(long now) {
+                if (lastUpdate == 0) {
+                    lastUpdate = now;
+                    fpsStart = now;
+                    return;
+                }
+
+                update((now - lastUpdate) / 1_000_000_000.0);
+                renderer.render(line, scale);
+                lastUpdate = now;
+
+                frames++;
+                if (now - fpsStart >= 1_000_000_000L) {
+                    statusLabel.setText(String.format("FPS: %.0f", frames * 1e9 / (now - fpsStart)));
+                    frames = 0;
+                    fpsStart = now;
+                }
+            }
+        };
+    }
+
+    void show(List<MaterialConfig> materials, double contactArea, double maxPressure, double pressureIncrement,
+              PressureProfile profile, double timeStep, int maxSubSteps) {
+        this.materials = List.copyOf(materials);
+        this.contactArea = contactArea;
+        this.maxPressure = maxPressure;
+        this.pressureIncrement = pressureIncrement;
+        this.profile = profile;
+        this.timeStep = timeStep;
+        this.maxSubSteps = maxSubSteps;
+
+        if (this.materials.isEmpty())
+            return;
+
+        createStations(line.size() == 0 ? 100 : line.size());
+
+        stage.show();
+        stage.toFront();
+        timer.start();
+    }
+
+    private void stop() {
+        timer.stop();
+    }
+
+    private void createStations(int count) {
+        line = new PressLine(count);
+        integrator = new FixedStepIntegrator(line::step, timeStep, maxSubSteps);
+        holdTime = new double[count];
+        nextMaterial = 0;
+
+        for (int i = 0; i < count; i++) {
+            line.load(i, nextSpecimen().toSpecimen(), contactArea, maxPressure, pressureIncrement, profile);
+            line.setExtension(i, (i % 14) * 15); // разносим станции по фазе, чтобы линия не двигалась синхронно
+        }
+        scale = renderer.fitScale(Math.min(count, MIN_DRAWN_SCALE_STATIONS));
+    }
+
+    private MaterialConfig nextSpecimen() {
+        MaterialConfig config = materials.get(nextMaterial);
+        nextMaterial = (nextMaterial + 1) % materials.size();
+        return config;
+    }
+
+    private void update(double elapsedSeconds) {
+        integrator.advance(elapsedSeconds);
+
+        // Образец разрушен или давление упёрлось в максимум - через паузу ставим следующий
+        for (int i = 0; i < line.size(); i++) {
+            if (!line.isFinished(i))
+                continue;
+
+            holdTime[i] += elapsedSeconds;
+            if (holdTime[i] >= HOLD_SECONDS) {
+                holdTime[i] = 0;
+                line.load(i, nextSpecimen().toSpecimen(), contactArea, maxPressure, pressureIncrement, profile);
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.example.presssimulation;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+// Держит текущий снимок настроек. Разбор и запись файла идут вне FX-потока,
+// повторно файл читается только когда он изменился на диске.
+public class SettingsService implements AutoCloseable {
+    // редакторы сохраняют файл в несколько записей - ждём, пока они закончатся
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    private final String fileName;
+    private final Path file;
+    private final AtomicReference<SettingsSnapshot> current = new AtomicReference<>();
+    // загрузка, запись и перечитывание после изменения на диске идут по очереди в одном потоке;
+    // наблюдатель только ждёт событий и ставит перечитывание в эту очередь
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> daemon(r, "settings-io"));
+    private Thread watcherThread;
+    // отметка файла, содержимое которого уже в current (наша запись или прочитанный файл); только в потоке io
+    private FileStamp knownStamp;
+
+    // сохранения, пришедшие пока предыдущее ещё ждёт своей очереди, сливаются в одну запись
+    private SettingsSnapshot pendingSave;
+    private List<CompletableFuture<Void>> pendingCallers = new ArrayList<>();
+
+    public SettingsService(String fileName) {
+        this.fileName = fileName;
+        this.file = Path.of(fileName).toAbsolutePath();
+    }
+
+    public CompletableFuture<SettingsSnapshot> loadAsync() {
+        return CompletableFuture.supplyAsync(this::load, io);
+    }
+
+    private SettingsSnapshot load() {
+        if (!Files.exists(file))
+            YamlManager.createDefaultFile();
+
+        SettingsSnapshot snapshot = YamlManager.loadSnapshot(fileName);
+        if (snapshot == null) {
+            // испорченный файл не перезаписываем, работаем на значениях по умолчанию
+            System.err.println("Не удалось разобрать " + fileName + ", используются значения по умолчанию");
+            snapshot = SettingsSnapshot.defaults();
+        }
+        current.set(snapshot);
+        knownStamp = stamp();
+        return snapshot;
+    }
+
+    // Снимок сразу становится текущим; свою запись наблюдатель потом узнаёт по отметке файла
+    public CompletableFuture<Void> save(SettingsSnapshot snapshot) {
+        current.set(snapshot);
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        synchronized (this) {
+            boolean scheduled = pendingSave != null;
+            pendingSave = snapshot;
+            pendingCallers.add(done);
+            if (!scheduled)
+                io.execute(this::flush);
+        }
+        return done;
+    }
+
+    private void flush() {
+        SettingsSnapshot snapshot;
+        List<CompletableFuture<Void>> callers;
+        synchronized (this) {
+            snapshot = pendingSave;
+            callers = pendingCallers;
+            pendingSave = null;
+            pendingCallers = new ArrayList<>();
+        }
+
+        try {
+            YamlManager.write(fileName, snapshot);
+            knownStamp = stamp();
+            System.out.println("Все данные сохранены в " + fileName);
+            callers.forEach(caller -> caller.complete(null));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ошибка сохранения данных: " + e.getMessage());
+            callers.forEach(caller -> caller.completeExceptionally(e));
+        }
+    }
+
+    // Импорт стороннего каталога идёт в том же фоновом потоке, записи отдаются в sink по одной
+    public CompletableFuture<YamlManager.StreamResult> importMaterials(String importFile, Consumer<MaterialConfig> sink,
+                                                                      DoubleConsumer progress) {
+        return CompletableFuture.supplyAsync(() -> YamlManager.streamMaterials(importFile, sink, progress), io);
+    }
+
+    public SettingsSnapshot getCurrent() {
+        return current.get();
+    }
+
+    public void startWatching(Consumer<SettingsSnapshot> onChange) {
+        if (watcherThread != null)
+            return;
+
+        watcherThread = daemon(() -> watch(onChange), "settings-watcher");
+        watcherThread.start();
+    }
+
+    private void watch(Consumer<SettingsSnapshot> onChange) {
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            file.getParent().register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!isSettingsEvent(watcher.take()))
+                    continue;
+
+                Thread.sleep(DEBOUNCE_MILLIS);
+                WatchKey pending;
+                while ((pending = watcher.poll()) != null)
+                    isSettingsEvent(pending);
+
+                io.execute(() -> reload(onChange));
+            }
+        } catch (InterruptedException | ClosedWatchServiceException | RejectedExecutionException e) {
+            // остановка наблюдателя
+        } catch (IOException e) {
+            System.err.println("Не удалось следить за файлом настроек: " + e.getMessage());
+        }
+    }
+
+    // Событие от нашей же записи или от записи, которую уже обогнало новое сохранение, снимок не трогает:
+    // иначе при частых сохранениях интерфейс на миг откатывался бы к более старому файлу
+    private void reload(Consumer<SettingsSnapshot> onChange) {
+        synchronized (this) {
+            if (pendingSave != null)
+                return; // в очереди более новое сохранение, в файле скоро будет оно
+        }
+        FileStamp stamp = stamp();
+        if (stamp == null || stamp.equals(knownStamp))
+            return;
+
+        SettingsSnapshot expected = current.get();
+        SettingsSnapshot snapshot = YamlManager.loadSnapshot(fileName);
+        if (snapshot == null)
+            return;
+        knownStamp = stamp;
+
+        // save() мог сменить снимок, пока файл читался: тогда новее снимок в памяти
+        if (current.compareAndSet(expected, snapshot) && !snapshot.equals(expected))
+            onChange.accept(snapshot);
+    }
+
+    // Запись идёт через временный файл и перенос, так что у новой записи другой fileKey (где он есть) и время
+    private record FileStamp(Object key, FileTime modified, long size) {}
+
+    private FileStamp stamp() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean isSettingsEvent(WatchKey key) {
+        boolean matched = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path changed && changed.equals(file.getFileName()))
+                matched = true;
+        }
+        key.reset();
+        return matched;
+    }
+
+    @Override
+    public void close() {
+        if (watcherThread != null)
+            watcherThread.interrupt();
+
+        // даём дописать уже принятые сохранения
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(5, TimeUnit.SECONDS))
+                System.err.println("Сохранение настроек не завершилось до выхода");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
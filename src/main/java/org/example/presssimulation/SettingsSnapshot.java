@@ -0,0 +1,20 @@
+package org.example.presssimulation;
+
+import java.util.List;
+
+// Неизменяемый результат одного разбора settings.yaml: системные настройки и каталог материалов
+public record SettingsSnapshot(SystemSettings system, List<MaterialConfig> materials) {
+
+    public SettingsSnapshot {
+        materials = List.copyOf(materials);
+    }
+
+    public static SettingsSnapshot defaults() {
+        return new SettingsSnapshot(SystemSettings.DEFAULT, List.of(
+            new MaterialConfig("Сталь", 250, false, 0.01),
+            new MaterialConfig("Бетон", 30, true, 0.01, 12),
+            new MaterialConfig("Стекло", 50, true, 0.01, 7),
+            new MaterialConfig("Дерево", 40, false, 0.01)
+        ));
+    }
+}
@@ -2,6 +2,7 @@ package org.example.presssimulation;
 
 import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -14,27 +15,56 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
-
+import org.example.presssimulation.diagnostics.CatalogReloadEvent;
+import org.example.presssimulation.diagnostics.ContactEvent;
+import org.example.presssimulation.diagnostics.FailureEvent;
+import org.example.presssimulation.diagnostics.PressMetrics;
+import org.example.presssimulation.diagnostics.TickEvent;
+import org.example.presssimulation.engine.FixedStepIntegrator;
+import org.example.presssimulation.engine.HydraulicState;
+import org.example.presssimulation.engine.OutcomeCache;
+import org.example.presssimulation.engine.PressOutcome;
+import org.example.presssimulation.engine.PressureProfile;
+import org.example.presssimulation.engine.PressureProgram;
+import org.example.presssimulation.engine.PressEngine;
+import org.example.presssimulation.engine.PressListener;
+import org.example.presssimulation.engine.SpecimenState;
+import org.example.presssimulation.engine.TelemetryRecorder;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class SimulationManager extends Application {
 
     private final double TUBE_WIDTH = 400;
     private final double TUBE_HEIGHT = 120;
+    private final int RECORD_CAPACITY = 1 << 19; // ~8 минут записи при шаге 1 мс
+    private final int MAX_SHOWN_MATERIALS = 500;
 
     private double MAX_PRESSURE = 150_000_000;
     private double PRESSURE_INCREMENT = 10_000_000;
     private double CONTACT_AREA = 0.01;
+    private double TIME_STEP = FixedStepIntegrator.DEFAULT_STEP;
+    private int MAX_SUBSTEPS = FixedStepIntegrator.DEFAULT_MAX_SUBSTEPS;
+    private PressureProgram pressureProgram; // из settings.yaml, null - линейный рост давления
+    private PressureProfile pressureProfile; // та же программа, скомпилированная в таблицу для тика
+    private int SPECIMEN_ELEMENTS = 0; // из settings.yaml, 0 - образец целым блоком
 
     private Piston piston;
     private Material material;
+    private PressEngine engine;
+    private FixedStepIntegrator integrator;
+    private final TelemetryRecorder recorder = new TelemetryRecorder(RECORD_CAPACITY);
     private AnimationTimer simulationTimer;
-    private boolean isPressing = false;
-    private boolean isAutoMode = false;
-    private double currentPressure = 0;
 
     private Label pressureLabel;
     private Label forceLabel;
@@ -43,8 +73,24 @@ public class SimulationManager extends Application {
     private Pane simulationPane;
     private Label modeLabel;
     private Button modeToggleButton;
-    private ComboBox<Material> materialComboBox;
-    private ObservableList<Material> materialList;
+    private ComboBox<MaterialConfig> materialComboBox;
+    private TextField materialFilterField;
+    private Label importStatusLabel;
+    // каталог хранится как данные, узлы сцены создаются только для выбранного материала
+    private List<MaterialConfig> catalog = new ArrayList<>();
+    private MaterialIndex catalogIndex = new MaterialIndex(catalog);
+    private MaterialConfig selectedConfig;
+    private final ObservableList<MaterialConfig> materialList = FXCollections.observableArrayList();
+    private final SettingsService settingsService = new SettingsService(YamlManager.SETTINGS_FILE);
+    private PressLineView pressLineView;
+    private StackView stackView;
+    private TelemetryChartView chartView;
+    private FailureProbabilityView failureView;
+    private final PressMetrics metrics = PressMetrics.get();
+    private final MetricsOverlay metricsOverlay = new MetricsOverlay(metrics);
+    // прогноз для выбранного материала; с -Dpress.outcomeCache=<файл> кэш переживает перезапуск
+    private final String outcomeCacheFile = System.getProperty("press.outcomeCache");
+    private OutcomeCache outcomeCache = new OutcomeCache(OutcomeCache.DEFAULT_CAPACITY);
 
     @Override
     public void start(Stage primaryStage) {
@@ -68,12 +114,16 @@ public class SimulationManager extends Application {
         double materialX = centerX + (TUBE_WIDTH / 2 - 20) - Material.MATERIAL_SIZE;
         double materialY = centerY - (Material.MATERIAL_SIZE / 2);
 
-        loadSettings(materialX, materialY);
+        double pistonX = centerX - TUBE_WIDTH / 2 + 20;
 
         material = Material.createGlass(materialX, materialY, 0.01);
-        piston = new Piston(centerX - TUBE_WIDTH / 2 + 20, centerY - 50, CONTACT_AREA);
+        piston = new Piston(pistonX, centerY - 50, CONTACT_AREA);
+
+        engine = new PressEngine(piston.getState(), new HydraulicState(MAX_PRESSURE, PRESSURE_INCREMENT), material.getState(), materialX - pistonX);
+        engine.setListener(createPressListener());
+        integrator = new FixedStepIntegrator(this::stepEngine, TIME_STEP, MAX_SUBSTEPS);
 
-        simulationPane.getChildren().addAll(tube, material, piston);
+        simulationPane.getChildren().addAll(tube, material, piston, metricsOverlay);
 
 
 
@@ -85,7 +135,9 @@ public class SimulationManager extends Application {
         root.setCenter(simulationPane);
         root.setRight(infoPanel);
 
-        initializeMaterials(materialX, materialY);
+        // окно показывается сразу на значениях по умолчанию, файл разбирается в фоне
+        materialComboBox.setItems(materialList);
+        settingsService.loadAsync().thenAccept(this::indexAndApply);
 
 
         Scene scene = new Scene(root, SCENE_WIDTH, SCENE_HEIGHT, Color.LIGHTGRAY);
@@ -95,6 +147,46 @@ public class SimulationManager extends Application {
         primaryStage.setTitle("СИМУЛЯТОР ПРЕССА 3Д");
         primaryStage.setScene(scene);
         primaryStage.show();
+
+        // всё, что не нужно для первого кадра, запускается после него
+        runAfterFirstFrame(scene, this::onFirstFrame);
+    }
+    private void runAfterFirstFrame(Scene scene, Runnable action) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            Platform.runLater(action);
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+    private void onFirstFrame() {
+        settingsService.startWatching(this::indexAndApply);
+        PressMetrics.register();
+        if (outcomeCacheFile != null) {
+            CompletableFuture.supplyAsync(() -> OutcomeCache.load(outcomeCacheFile, OutcomeCache.DEFAULT_CAPACITY))
+                .thenAccept(loaded -> Platform.runLater(() -> {
+                    outcomeCache = loaded;
+                    updateMaterialInfo();
+                }));
+        }
+
+        // пробный запуск: сборка AppCDS-архива и замер старта (-Dpress.exitAfterFirstFrame=true)
+        if (Boolean.getBoolean("press.exitAfterFirstFrame")) {
+            ProcessHandle.current().info().startInstant().ifPresent(jvmStart ->
+                System.out.println("Первый кадр через " + Duration.between(jvmStart, Instant.now()).toMillis() + " мс после запуска JVM"));
+            Platform.exit();
+        }
+    }
+    @Override
+    public void stop() {
+        settingsService.close();
+        if (outcomeCacheFile != null) {
+            try {
+                outcomeCache.save(outcomeCacheFile);
+            } catch (IOException e) {
+                System.err.println("Ошибка сохранения кэша итогов: " + e.getMessage());
+            }
+        }
     }
     private VBox createInfoPanel() {
         VBox panel = new VBox(10);
@@ -123,6 +215,26 @@ public class SimulationManager extends Application {
         reloadButton.setFocusTraversable(false);
         reloadButton.setOnAction(e -> reloadFromYaml());
 
+        Button pressLineButton = new Button("Линия прессов");
+        pressLineButton.setStyle("-fx-font-size: 11; -fx-padding: 3 8;");
+        pressLineButton.setFocusTraversable(false);
+        pressLineButton.setOnAction(e -> showPressLine());
+
+        Button stackButton = new Button("Пакет образцов");
+        stackButton.setStyle("-fx-font-size: 11; -fx-padding: 3 8;");
+        stackButton.setFocusTraversable(false);
+        stackButton.setOnAction(e -> showStack());
+
+        Button chartButton = new Button("График давления и силы");
+        chartButton.setStyle("-fx-font-size: 11; -fx-padding: 3 8;");
+        chartButton.setFocusTraversable(false);
+        chartButton.setOnAction(e -> showChart());
+
+        Button failureButton = new Button("Вероятность разрушения");
+        failureButton.setStyle("-fx-font-size: 11; -fx-padding: 3 8;");
+        failureButton.setFocusTraversable(false);
+        failureButton.setOnAction(e -> showFailureProbability());
+
         Label modeTitle = new Label("РЕЖИМ СИМУЛЯЦИИ:");
         modeTitle.setStyle("-fx-font-size: 12; -fx-font-weight: bold;");
 
@@ -148,11 +260,29 @@ public class SimulationManager extends Application {
             if (newVal != null) switchMaterial(newVal);
         });
 
+        materialFilterField = new TextField();
+        materialFilterField.setPromptText("Поиск: название, >100, <300, хрупкий, @150");
+        materialFilterField.setPrefWidth(250);
+        materialFilterField.textProperty().addListener((obs, oldVal, newVal) -> applyMaterialFilter());
+        materialFilterField.setOnAction(e -> {
+            if (!materialList.isEmpty())
+                materialComboBox.getSelectionModel().select(0);
+            simulationPane.requestFocus();
+        });
+
         Button addMaterialButton = new Button("Добавить материал");
         addMaterialButton.setStyle("-fx-font-size: 11; -fx-padding: 3 8;");
         addMaterialButton.setFocusTraversable(false);
         addMaterialButton.setOnAction(e -> addCustomMaterial());
 
+        Button importButton = new Button("Импорт каталога...");
+        importButton.setStyle("-fx-font-size: 11; -fx-padding: 3 8;");
+        importButton.setFocusTraversable(false);
+        importButton.setOnAction(e -> importCatalog());
+
+        importStatusLabel = new Label();
+        importStatusLabel.setStyle("-fx-font-size: 11; -fx-text-fill: #333;");
+
         systemParamsLabel = new Label(String.format(
             """
             ПАРАМЕТРЫ СИСТЕМЫ:
@@ -176,12 +306,12 @@ public class SimulationManager extends Application {
         forceLabel = new Label("Сила: 0 кН");
         forceLabel.setStyle("-fx-font-size: 12;");
 
-        Label quickControls = new Label("Управление:\n→ - вперед (только мануал)\n← - назад (только мануал)\nR - сброс");
+        Label quickControls = new Label("Управление:\n→ - вперед (только мануал)\n← - назад (только мануал)\nR - сброс\nF3 - метрики");
         quickControls.setStyle("-fx-font-size: 11; -fx-text-fill: #666;");
 
         panel.getChildren().addAll(
-            title, infoButton, settingsButton, saveButton, reloadButton, modeTitle, modeLabel, modeToggleButton,
-            materialSelectLabel, materialComboBox, addMaterialButton, systemParamsLabel,
+            title, infoButton, settingsButton, saveButton, reloadButton, pressLineButton, stackButton, chartButton, failureButton, modeTitle, modeLabel, modeToggleButton,
+            materialSelectLabel, materialFilterField, materialComboBox, addMaterialButton, importButton, importStatusLabel, systemParamsLabel,
             materialInfoLabel, pressureLabel, forceLabel, quickControls
         );
         return panel;
@@ -258,6 +388,8 @@ public class SimulationManager extends Application {
         areaSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
             CONTACT_AREA = newVal.doubleValue();
             areaValue.setText(String.format("%.3f м²", CONTACT_AREA));
+            if (materialFilterField.getText().contains("@"))
+                applyMaterialFilter(); // "@давление" зависит от площади поршня
         });
 
         pressureSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
@@ -298,7 +430,7 @@ public class SimulationManager extends Application {
 
         Optional<ButtonType> result = dialog.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            YamlManager.saveAll(MAX_PRESSURE, PRESSURE_INCREMENT, CONTACT_AREA, materialList);
+            saveSnapshot();
 
             updateSystemParameters();
             if (resetSimulationCheckbox.isSelected())
@@ -308,13 +440,42 @@ public class SimulationManager extends Application {
     }
     private void updateMaterialInfo() {
         materialInfoLabel.setText(String.format(
-            "Материал: %s\nПрочность: %.0f МПа\nF(разр): %.0f кН\nТип: %s",
+            "Материал: %s\nПрочность: %.0f МПа\nF(разр): %.0f кН\nТип: %s\n%s",
             material.getName(),
             material.getCompressiveStrength() / 1_000_000,
             material.getDestructionForce() / 1000,
-            material.isFragile() ? "Хрупкий" : "Пластичный"
+            material.isFragile() ? "Хрупкий" : "Пластичный",
+            forecast()
         ));
     }
+    // Итог авто прогона при текущих параметрах, без запуска самой симуляции
+    private String forecast() {
+        MaterialConfig config = currentMaterialConfig();
+
+        // ключ кэша не описывает программу давления и элементы, с ними итог считается каждый раз (событийно это дёшево)
+        SpecimenState specimen = config.toSpecimen(SPECIMEN_ELEMENTS);
+        // пластичный образец из элементов считается только по шагам, для прогноза это долго - показываем начало текучести
+        if (!specimen.isThresholdExact())
+            return String.format("Прогноз: текучесть с %.0f МПа", specimen.getDestructionForce() / CONTACT_AREA / 1_000_000);
+
+        PressOutcome outcome;
+        if (pressureProfile != null || SPECIMEN_ELEMENTS > 0) {
+            PressEngine forecastEngine = new PressEngine(specimen, CONTACT_AREA, MAX_PRESSURE, PRESSURE_INCREMENT);
+            forecastEngine.getHydraulics().setProfile(pressureProfile);
+            outcome = forecastEngine.runEventDriven(TIME_STEP);
+        } else {
+            outcome = outcomeCache.outcome(new OutcomeCache.Key(config.getCompressiveStrengthMPa(), config.getContactArea(),
+                config.isFragile(), CONTACT_AREA, MAX_PRESSURE, PRESSURE_INCREMENT, TIME_STEP, Double.POSITIVE_INFINITY, true));
+        }
+
+        return outcome.broken()
+            ? String.format("Прогноз: разрушится при %.0f МПа на %.1f с", outcome.pressure() / 1_000_000, outcome.failureTime())
+            : String.format("Прогноз: выдержит %.0f МПа", outcome.pressure() / 1_000_000);
+    }
+    // у стартового образца нет записи в каталоге - берём его параметры из узла
+    private MaterialConfig currentMaterialConfig() {
+        return selectedConfig != null ? selectedConfig : MaterialConfig.fromMaterial(material);
+    }
     private void updateSystemParameters() {
         systemParamsLabel.setText(String.format(
             """
@@ -327,9 +488,16 @@ public class SimulationManager extends Application {
             CONTACT_AREA * 10_000,
             MAX_PRESSURE / 1_000_000,
             PRESSURE_INCREMENT / 1_000_000
-        ));
+        ) + (pressureProgram == null ? "" : String.format("• Программа давления: %d участков, %.1f с%n",
+            pressureProgram.segments().size(), pressureProgram.duration()))
+            + (SPECIMEN_ELEMENTS == 0 ? "" : String.format("• Образец: %d элементов по оси%n", SPECIMEN_ELEMENTS)));
 
         piston.setPistonArea(CONTACT_AREA);
+        engine.getHydraulics().setMaxPressure(MAX_PRESSURE);
+        engine.getHydraulics().setPressureIncrement(PRESSURE_INCREMENT);
+        engine.getHydraulics().setProfile(pressureProfile);
+        integrator = new FixedStepIntegrator(this::stepEngine, TIME_STEP, MAX_SUBSTEPS);
+        updateMaterialInfo();
 
         int pistonIndex = simulationPane.getChildren().indexOf(piston);
         if (pistonIndex >= 0) {
@@ -337,50 +505,104 @@ public class SimulationManager extends Application {
         }
     }
 
-    private void loadSettings(double defaultX, double defaultY) {
-        if (YamlManager.loadSystemSettings() instanceof Map<String, Double> settings) {
-            MAX_PRESSURE = settings.get("max_pressure");
-            PRESSURE_INCREMENT = settings.get("pressure_increment");
-            CONTACT_AREA = settings.get("contact_area");
-        } else {
-            YamlManager.createDefaultFile(defaultX, defaultY);
+    private void applySnapshot(SettingsSnapshot snapshot, MaterialIndex index) {
+        SystemSettings system = snapshot.system();
+        MAX_PRESSURE = system.maxPressure();
+        PRESSURE_INCREMENT = system.pressureIncrement();
+        CONTACT_AREA = system.contactArea();
+        TIME_STEP = system.timeStep();
+        MAX_SUBSTEPS = system.maxSubSteps();
+        pressureProgram = system.program();
+        pressureProfile = pressureProgram != null ? pressureProgram.compile() : null;
+        boolean elementsChanged = SPECIMEN_ELEMENTS != system.specimenElements();
+        SPECIMEN_ELEMENTS = system.specimenElements();
+        updateSystemParameters();
+
+        List<MaterialConfig> configs = snapshot.materials();
+        if (configs.isEmpty()) {
+            configs = SettingsSnapshot.defaults().materials();
+            index = new MaterialIndex(configs);
+        }
+        catalog = configs;
+        catalogIndex = index;
+
+        // сохраняем выбор пользователя, если такой материал есть в новом каталоге
+        int kept = selectedConfig != null ? catalog.indexOf(selectedConfig) : -1;
+        if (elementsChanged)
+            selectedConfig = null; // тот же материал, но образец надо собрать заново
+        switchMaterial(catalog.get(Math.max(kept, 0)));
+        applyMaterialFilter();
 
-            if (YamlManager.loadSystemSettings() instanceof Map<String, Double> settings) {
-                MAX_PRESSURE = settings.get("max_pressure");
-                PRESSURE_INCREMENT = settings.get("pressure_increment");
-                CONTACT_AREA = settings.get("contact_area");
+        if (snapshot.materials().isEmpty())
+            saveSnapshot();
+
+        resetSimulation();
+    }
+    // Индекс каталога строится в фоновом потоке, в FX-поток попадает готовый результат
+    private void indexAndApply(SettingsSnapshot snapshot) {
+        indexAndApply(snapshot, "file", null);
+    }
+    private void indexAndApply(SettingsSnapshot snapshot, String trigger, Runnable afterApply) {
+        CatalogReloadEvent event = new CatalogReloadEvent();
+        event.begin();
+
+        MaterialIndex index = new MaterialIndex(snapshot.materials());
+        Platform.runLater(() -> {
+            applySnapshot(snapshot, index);
+
+            if (event.shouldCommit()) {
+                event.trigger = trigger;
+                event.materials = snapshot.materials().size();
+                event.commit();
             }
-        }
+            if (afterApply != null)
+                afterApply.run();
+        });
     }
-    private void initializeMaterials(double x, double y) {
-        if (YamlManager.loadMaterials(x, y) instanceof List<Material> loadedMaterials && !loadedMaterials.isEmpty()) {
-            materialList = FXCollections.observableArrayList(loadedMaterials);
-        }
-        else {
-            materialList = FXCollections.observableArrayList(
-                Material.createSteel(x, y, 0.01),
-                Material.createConcrete(x, y, 0.01),
-                Material.createGlass(x, y, 0.01),
-                Material.createWood(x, y, 0.01)
-            );
-
-            YamlManager.saveAll(MAX_PRESSURE, PRESSURE_INCREMENT, CONTACT_AREA, materialList);
-        }
-
-        materialComboBox.setItems(materialList);
-        if (!materialList.isEmpty()) {
-            materialComboBox.getSelectionModel().select(0);
-        }
+    private void applyMaterialFilter() {
+        materialList.setAll(catalogIndex.search(materialFilterField.getText(), MAX_SHOWN_MATERIALS, CONTACT_AREA));
+        if (materialList.contains(selectedConfig))
+            materialComboBox.getSelectionModel().select(selectedConfig);
+    }
+    private SettingsSnapshot currentSnapshot() {
+        return new SettingsSnapshot(
+            new SystemSettings(MAX_PRESSURE, PRESSURE_INCREMENT, CONTACT_AREA, TIME_STEP, MAX_SUBSTEPS, pressureProgram, SPECIMEN_ELEMENTS),
+            catalog
+        );
     }
-    private void switchMaterial(Material selectedMaterial) {
+    // Запись идёт в фоне, об ошибке сообщаем из FX-потока
+    private CompletableFuture<Void> saveSnapshot() {
+        return settingsService.save(currentSnapshot()).whenComplete((ignored, error) -> {
+            if (error != null)
+                Platform.runLater(() -> showSaveError(error));
+        });
+    }
+    private void showSaveError(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+        Alert errorAlert = new Alert(Alert.AlertType.ERROR);
+        errorAlert.setTitle("Ошибка");
+        errorAlert.setHeaderText("Не удалось сохранить settings.yaml");
+        errorAlert.setContentText(cause.getMessage());
+        errorAlert.show();
+    }
+    private void switchMaterial(MaterialConfig config) {
+        if (config == selectedConfig)
+            return;
+
         int index = simulationPane.getChildren().indexOf(material);
 
         if (index >= 0) {
+            Material selectedMaterial = new Material(material.getX(), material.getY(), config.toSpecimen(SPECIMEN_ELEMENTS));
+            selectedMaterial.setWeibullModulus(config.getWeibullModulus());
+            selectedConfig = config;
+
             selectedMaterial.setLayoutX(material.getLayoutX());
             selectedMaterial.setLayoutY(material.getLayoutY());
 
             simulationPane.getChildren().set(index, selectedMaterial);
             material = selectedMaterial;
+            engine.setSpecimen(material.getState());
             updateMaterialInfo();
             resetSimulation();
         }
@@ -435,15 +657,14 @@ public class SimulationManager extends Application {
             boolean isFragile = typeResult.get() == fragileButton;
 
             // Создание нового материала
-            Material customMaterial = new Material(
-                material.getX(), material.getY(),
-                name, strength, isFragile, material.getContactArea()
-            );
-
-            // Добавление в список и выбор
-            materialList.add(customMaterial);
-            materialComboBox.getSelectionModel().select(customMaterial);
+            MaterialConfig customMaterial = new MaterialConfig(name, strength, isFragile, material.getContactArea());
+
+            // Добавление в каталог и выбор
+            catalog = new ArrayList<>(catalog);
+            catalog.add(customMaterial);
+            catalogIndex = new MaterialIndex(catalog);
             switchMaterial(customMaterial);
+            applyMaterialFilter();
 
             Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
             successAlert.setTitle("Успех");
@@ -462,15 +683,66 @@ public class SimulationManager extends Application {
             errorAlert.showAndWait();
         }
     }
-    private static class MaterialListCell extends ListCell<Material> {
+    private void importCatalog() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Импорт каталога материалов");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("YAML", "*.yaml", "*.yml"));
+
+        File file = chooser.showOpenDialog(simulationPane.getScene().getWindow());
+        if (file == null)
+            return;
+
+        // списки каталога не изменяются на месте, поэтому снимок можно дочитать в фоне
+        List<MaterialConfig> base = catalog;
+        List<MaterialConfig> imported = new ArrayList<>();
+        int[] shownPercent = {-1};
+
+        importStatusLabel.setText("Импорт: 0%");
+        settingsService.importMaterials(file.getPath(), imported::add, progress -> {
+            int percent = (int) (progress * 100);
+            if (percent != shownPercent[0]) {
+                shownPercent[0] = percent;
+                Platform.runLater(() -> importStatusLabel.setText("Импорт: " + percent + "%"));
+            }
+        }).thenAccept(result -> {
+            if (result == null) {
+                Platform.runLater(() -> importStatusLabel.setText("Импорт не удался: " + file.getName()));
+                return;
+            }
+
+            CatalogReloadEvent event = new CatalogReloadEvent();
+            event.begin();
+
+            List<MaterialConfig> merged = new ArrayList<>(base.size() + imported.size());
+            merged.addAll(base);
+            merged.addAll(imported);
+            MaterialIndex index = new MaterialIndex(merged);
+
+            Platform.runLater(() -> {
+                catalog = merged;
+                catalogIndex = index;
+                applyMaterialFilter();
+                saveSnapshot();
+
+                importStatusLabel.setText(String.format("Импортировано: %d, пропущено: %d", result.loaded(), result.skipped()));
+
+                if (event.shouldCommit()) {
+                    event.trigger = "import";
+                    event.materials = merged.size();
+                    event.commit();
+                }
+            });
+        });
+    }
+    private static class MaterialListCell extends ListCell<MaterialConfig> {
         @Override
-        protected void updateItem(Material item, boolean empty) {
+        protected void updateItem(MaterialConfig item, boolean empty) {
             super.updateItem(item, empty);
             if (empty || item == null) {
                 setText(null);
             }
             else {
-                setText(String.format("%s (σ=%.0f МПа, %s)", item.getName(), item.getCompressiveStrength() / 1_000_000, item.isFragile() ? "хрупкий" : "пластичный"));
+                setText(String.format("%s (σ=%.0f МПа, %s)", item.getName(), item.getCompressiveStrengthMPa(), item.isFragile() ? "хрупкий" : "пластичный"));
             }
         }
     } // Класс для отображения материалов в ComboBox
@@ -479,17 +751,23 @@ public class SimulationManager extends Application {
         scene.setOnKeyPressed(event -> {
             KeyCode key = event.getCode();
 
-            if (isAutoMode && (key == KeyCode.LEFT || key == KeyCode.RIGHT))
+            // пока вводится запрос поиска, клавиши не управляют прессом
+            if (scene.getFocusOwner() instanceof TextInputControl)
+                return;
+
+            if (engine.isAutoMode() && (key == KeyCode.LEFT || key == KeyCode.RIGHT))
                 return;
 
             if (key == KeyCode.LEFT) {
-                piston.retract(15);
-                handleNeedOfPressing();
+                engine.retract(15);
+                piston.refresh();
             } else if (key == KeyCode.RIGHT) {
-                piston.extend(15);
-                handleNeedOfPressing();
+                engine.extend(15);
+                piston.refresh();
             } else if (key == KeyCode.R) {
                 resetSimulation();
+            } else if (key == KeyCode.F3) {
+                metricsOverlay.toggle();
             }
         });
     }
@@ -510,64 +788,82 @@ public class SimulationManager extends Application {
                     return;
                 }
 
+                TickEvent tick = new TickEvent();
+                tick.begin();
+                long tickStart = System.nanoTime();
                 double elapsedSeconds = (now - lastUpdate) / 1_000_000_000.0;
+                boolean wasBroken = material.isBroken();
 
-                if (isAutoMode && !material.isBroken()) {
-                    piston.extend(100 * elapsedSeconds);
-
-                    if (isContact() && !isPressing)
-                        startPressing();
-                }
+                // движок идёт фиксированным шагом независимо от частоты кадров
+                long stepsBefore = integrator.getSteps();
+                integrator.advance(elapsedSeconds);
 
-                if (isPressing && !material.isBroken()) {
-                    currentPressure += PRESSURE_INCREMENT * elapsedSeconds;
+                if (engine.isAutoMode())
+                    piston.refresh(integrator.getAlpha());
 
-                    if (currentPressure > MAX_PRESSURE)
-                        currentPressure = MAX_PRESSURE;
+                // UI только читает состояние движка
+                if (engine.isPressing() && !wasBroken) {
+                    material.refresh();
 
-                    piston.setHydraulicPressure(currentPressure);
-                    material.applyForce(piston.getCurrentForce());
-
-                    pressureLabel.setText(String.format("Давление: %.1f МПа", currentPressure / 1_000_000));
-                    forceLabel.setText(String.format("Сила: %.0f кН", piston.getCurrentForce() / 1000));
-
-                    if (material.isBroken()) {
-                        pressureLabel.setStyle("-fx-font-size: 12; -fx-text-fill: red;");
-                        forceLabel.setStyle("-fx-font-size: 12; -fx-text-fill: red;");
-                    }
+                    pressureLabel.setText(String.format("Давление: %.1f МПа", engine.getPressure() / 1_000_000));
+                    forceLabel.setText(String.format("Сила: %.0f кН", engine.getForce() / 1000));
                 }
 
+                metricsOverlay.update(now);
+                long steps = integrator.getSteps() - stepsBefore;
+                metrics.recordFrame(now, System.nanoTime() - tickStart, steps);
+                if (tick.shouldCommit()) {
+                    tick.elapsed = elapsedSeconds;
+                    tick.steps = steps;
+                    tick.pressure = engine.getPressure();
+                    tick.force = engine.getForce();
+                    tick.commit();
+                }
                 lastUpdate = now;
             }
         };
         simulationTimer.start();
     }
 
-    private void handleNeedOfPressing() {
-        if(material.isBroken())
-            return;
-
-        boolean isContact = isContact();
-
-        if (isContact && !isPressing) {
-            startPressing();
-        } else if (!isContact) {
-            stopPressing();
-        }
+    private void stepEngine(double dt) {
+        engine.step(dt);
+        recorder.record(engine);
     }
-    private boolean isContact() {
-        double pistonRightEdge = piston.getLayoutX() + piston.getPistonTotalWidth();
-        double materialLeftEdge = material.getX();
-        return pistonRightEdge >= materialLeftEdge;
+
+    private PressListener createPressListener() {
+        return new PressListener() {
+            @Override
+            public void onPressingStarted() {
+                ContactEvent.emit(true, material.getName(), engine.getTime());
+                pressureLabel.setStyle("-fx-font-size: 12; -fx-text-fill: black;");
+                forceLabel.setStyle("-fx-font-size: 12; -fx-text-fill: black;");
+            }
+            @Override
+            public void onPressingStopped() {
+                ContactEvent.emit(false, material.getName(), engine.getTime());
+                material.reset();
+                pressureLabel.setText("Давление: 0 МПа");
+                forceLabel.setText("Сила: 0 кН");
+            }
+            @Override
+            public void onForceApplied() {
+                metrics.countApplyForce();
+            }
+            @Override
+            public void onFailure() {
+                FailureEvent.emit(material.getName(), material.getCompressiveStrength() / 1_000_000,
+                    engine.getPressure(), engine.getForce(), engine.getFailureTime());
+                pressureLabel.setStyle("-fx-font-size: 12; -fx-text-fill: red;");
+                forceLabel.setStyle("-fx-font-size: 12; -fx-text-fill: red;");
+            }
+        };
     }
 
     private void pauseSimulation() {
         simulationTimer.stop();
     }
     private void toggleSimulationMode() {
-        isAutoMode = !isAutoMode;
-
-        if (isAutoMode) {
+        if (!engine.isAutoMode()) {
             modeLabel.setText("Автоматический режим");
             modeToggleButton.setText("Переключить на Мануал");
             startAutoSimulation();
@@ -584,32 +880,18 @@ public class SimulationManager extends Application {
     }
 
     private void startAutoSimulation() {
-        isAutoMode = true;
+        engine.setAutoMode(true);
     }
     private void stopAutoSimulation() {
-        isAutoMode = false;
-    }
-
-    private void startPressing() {
-        isPressing = true;
-        currentPressure = 0;
-        piston.setHydraulicPressure(0);
-        pressureLabel.setStyle("-fx-font-size: 12; -fx-text-fill: black;");
-        forceLabel.setStyle("-fx-font-size: 12; -fx-text-fill: black;");
-    }
-    private void stopPressing() {
-        isPressing = false;
-        material.reset();
-        pressureLabel.setText("Давление: 0 МПа");
-        forceLabel.setText("Сила: 0 кН");
+        engine.setAutoMode(false);
     }
 
     private void resetSimulation() {
+        engine.reset();
+        integrator.reset();
+        recorder.clear();
         material.reset();
-        piston.reset();
-
-        isPressing = false;
-        currentPressure = 0;
+        piston.refresh();
 
         pressureLabel.setText("Давление: 0 МПа");
         pressureLabel.setStyle("-fx-font-size: 12; -fx-text-fill: black;");
@@ -618,68 +900,67 @@ public class SimulationManager extends Application {
         forceLabel.setStyle("-fx-font-size: 12; -fx-text-fill: black;");
     }
 
-    private void saveAllToYaml() {
-        pauseSimulation();
+    private void showChart() {
+        if (chartView == null)
+            chartView = new TelemetryChartView(recorder);
 
-        YamlManager.saveAll(MAX_PRESSURE, PRESSURE_INCREMENT, CONTACT_AREA, materialList);
+        chartView.show();
+    }
 
-        Alert info = new Alert(Alert.AlertType.INFORMATION);
-        info.setTitle("Успех");
-        info.setHeaderText(null);
-        info.setContentText("Все данные сохранены в файле settings.yaml");
-        info.showAndWait();
+    private void showFailureProbability() {
+        if (failureView == null)
+            failureView = new FailureProbabilityView();
 
-        resumeSimulation();
+        failureView.show(currentMaterialConfig(), CONTACT_AREA);
     }
-    private void reloadFromYaml() {
-        pauseSimulation();
 
-        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-        alert.setTitle("Загрузка данных");
-        alert.setHeaderText("Вы уверены?");
-        alert.setContentText("Текущие настройки и материалы будут заменены данными из файла.");
+    private void showPressLine() {
+        if (pressLineView == null)
+            pressLineView = new PressLineView();
 
-        Optional<ButtonType> result = alert.showAndWait();
-        if (result.isPresent() && result.get() == ButtonType.OK) {
-            Map<String, Double> settings = YamlManager.loadSystemSettings();
-            if (settings != null) {
-                MAX_PRESSURE = settings.get("max_pressure");
-                PRESSURE_INCREMENT = settings.get("pressure_increment");
-                CONTACT_AREA = settings.get("contact_area");
-                updateSystemParameters();
-                piston.setPistonArea(CONTACT_AREA);
-            }
+        pressLineView.show(catalog, CONTACT_AREA, MAX_PRESSURE, PRESSURE_INCREMENT, pressureProfile, TIME_STEP, MAX_SUBSTEPS);
+    }
 
-            List<Material> loadedMaterials = YamlManager.loadMaterials(material.getX(), material.getY());
-            if (loadedMaterials != null && !loadedMaterials.isEmpty()) {
-                // Очищаем список и добавляем загруженные материалы
-                materialList.clear();
-                materialList.addAll(loadedMaterials);
-
-                // Обновляем текущий материал (берём первый из списка)
-                Material newMaterial = materialList.get(0);
-
-                // Обновляем позицию на панели
-                int index = simulationPane.getChildren().indexOf(material);
-                if (index >= 0) {
-                    newMaterial.setLayoutX(material.getLayoutX());
-                    newMaterial.setLayoutY(material.getLayoutY());
-                    simulationPane.getChildren().set(index, newMaterial);
-                    material = newMaterial;
-                }
+    private void showStack() {
+        if (stackView == null)
+            stackView = new StackView();
 
-                // Обновляем ComboBox
-                materialComboBox.getSelectionModel().select(0);
-                updateMaterialInfo();
-            }
+        stackView.show(catalog, CONTACT_AREA, MAX_PRESSURE, PRESSURE_INCREMENT, pressureProfile, TIME_STEP, MAX_SUBSTEPS);
+    }
 
-            resetSimulation();
+    private void saveAllToYaml() {
+        saveSnapshot().thenRun(() -> Platform.runLater(() -> {
+            pauseSimulation();
 
             Alert info = new Alert(Alert.AlertType.INFORMATION);
             info.setTitle("Успех");
             info.setHeaderText(null);
-            info.setContentText("Данные загружены из файла settings.yaml");
+            info.setContentText("Все данные сохранены в файле settings.yaml");
             info.showAndWait();
+
+            resumeSimulation();
+        }));
+    }
+    private void reloadFromYaml() {
+        pauseSimulation();
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Загрузка данных");
+        alert.setHeaderText("Вы уверены?");
+        alert.setContentText("Текущие настройки и материалы будут заменены данными из файла.");
+
+        Optional<ButtonType> result = alert.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            settingsService.loadAsync().thenAccept(snapshot -> indexAndApply(snapshot, "manual", () -> {
+                Alert info = new Alert(Alert.AlertType.INFORMATION);
+                info.setTitle("Успех");
+                info.setHeaderText(null);
+                info.setContentText("Данные загружены из файла settings.yaml");
+                info.showAndWait();
+
+                resumeSimulation();
+            }));
+            return;
         }
 
         resumeSimulation();
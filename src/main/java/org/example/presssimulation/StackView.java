@@ -0,0 +1,198 @@
+package org.example.presssimulation;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import org.example.presssimulation.engine.FixedStepIntegrator;
+import org.example.presssimulation.engine.HydraulicState;
+import org.example.presssimulation.engine.PistonState;
+import org.example.presssimulation.engine.PressEngine;
+import org.example.presssimulation.engine.PressureProfile;
+import org.example.presssimulation.engine.SpecimenStack;
+import org.example.presssimulation.engine.SpecimenState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Окно "пакет образцов": материалы каталога по очереди уложены слоями в одну трубу, поршень в авто режиме
+// сжимает весь пакет. Слои рисуются на Canvas, цвет - доля от разрушающей силы слоя.
+class StackView {
+    private static final double CANVAS_WIDTH = 1000;
+    private static final double CANVAS_HEIGHT = 260;
+    private static final double SPECIMEN_GAP = 140; // от основания поршня до первого слоя
+    private static final double STACK_LENGTH = 200; // суммарная толщина слоёв
+    private static final double LOAD_GAP_RATIO = 0.1; // слои уложены с зазором в 10% толщины
+    private static final double WALL = SPECIMEN_GAP + STACK_LENGTH * (1 + LOAD_GAP_RATIO);
+    private static final double MAX_EXTENSION = WALL - PistonState.PRESS_WIDTH - PistonState.PRESS_OFFSET;
+    private static final double TUBE_HEIGHT = 120;
+    private static final double LAYER_HEIGHT = Material.MATERIAL_SIZE;
+    private static final double HOLD_SECONDS = 1;
+    private static final double MIN_STROKE_WIDTH = 3; // у более тонких слоёв обводка закрыла бы заливку
+
+    private final Stage stage = new Stage();
+    private final Canvas canvas = new Canvas(CANVAS_WIDTH, CANVAS_HEIGHT);
+    private final GraphicsContext gc = canvas.getGraphicsContext2D();
+    private final ComboBox<Integer> countBox = new ComboBox<>();
+    private final Label statusLabel = new Label();
+    private final AnimationTimer timer;
+    private final double scale = CANVAS_WIDTH / (WALL + 40);
+
+    private List<MaterialConfig> materials = List.of();
+    private double contactArea;
+    private double maxPressure;
+    private double pressureIncrement;
+    private PressureProfile profile;
+    private double timeStep = FixedStepIntegrator.DEFAULT_STEP;
+    private int maxSubSteps = FixedStepIntegrator.DEFAULT_MAX_SUBSTEPS;
+
+    private SpecimenStack stack;
+    private PressEngine engine;
+    private FixedStepIntegrator integrator;
+    private double holdTime = 0;
+
+    StackView() {
+        countBox.getItems().addAll(1, 5, 20, 100, 500);
+        countBox.setValue(20);
+        countBox.setFocusTraversable(false);
+        countBox.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal != null && !materials.isEmpty()) createStack(newVal);
+        });
+
+        HBox toolbar = new HBox(10, new Label("Слоёв:"), countBox, statusLabel);
+        toolbar.setPadding(new Insets(5));
+
+        BorderPane root = new BorderPane();
+        root.setTop(toolbar);
+        root.setCenter(canvas);
+
+        stage.setTitle("Пакет образцов");
+        stage.setScene(new Scene(root));
+        timer = new AnimationTimer() {
+            private long lastUpdate = 0;
+
+            @Override
+            public void stop() {
+                super.stop();
+                lastUpdate = 0;
+            }
+
+            @Override
+            public void handle(long now) {
+                if (lastUpdate != 0)
+                    update((now - lastUpdate) / 1_000_000_000.0);
+                lastUpdate = now;
+                render();
+            }
+        };
+        stage.setOnHidden(e -> timer.stop());
+    }
+
+    void show(List<MaterialConfig> materials, double contactArea, double maxPressure, double pressureIncrement,
+              PressureProfile profile, double timeStep, int maxSubSteps) {
+        this.materials = List.copyOf(materials);
+        this.contactArea = contactArea;
+        this.maxPressure = maxPressure;
+        this.pressureIncrement = pressureIncrement;
+        this.profile = profile;
+        this.timeStep = timeStep;
+        this.maxSubSteps = maxSubSteps;
+
+        if (this.materials.isEmpty())
+            return;
+
+        createStack(countBox.getValue());
+
+        stage.show();
+        stage.toFront();
+        timer.start();
+    }
+
+    // Слои - целые блоки: у сотен слоёв разбиение на элементы не окупается
+    private void createStack(int count) {
+        List<SpecimenState> layers = new ArrayList<>(count);
+        double[] thickness = new double[count];
+        double[] gaps = new double[count + 1];
+        for (int i = 0; i < count; i++) {
+            layers.add(materials.get(i % materials.size()).toSpecimen());
+            thickness[i] = STACK_LENGTH / count;
+            gaps[i + 1] = i + 1 < count ? thickness[i] * LOAD_GAP_RATIO : 0;
+        }
+        gaps[count] = WALL - SPECIMEN_GAP - STACK_LENGTH - STACK_LENGTH * LOAD_GAP_RATIO * (count - 1) / count;
+
+        stack = new SpecimenStack(layers, thickness, gaps);
+        engine = new PressEngine(new PistonState(contactArea, MAX_EXTENSION),
+            new HydraulicState(maxPressure, pressureIncrement), stack, SPECIMEN_GAP);
+        engine.getHydraulics().setProfile(profile);
+        integrator = new FixedStepIntegrator(engine::step, timeStep, maxSubSteps);
+        restart();
+    }
+
+    private void restart() {
+        engine.reset();
+        engine.setAutoMode(true);
+        holdTime = 0;
+    }
+
+    private void update(double elapsedSeconds) {
+        integrator.advance(elapsedSeconds);
+
+        // весь пакет разрушен, давление упёрлось в максимум или поршень не достаёт - через паузу заново
+        boolean finished = stack.isBroken()
+            || engine.isPressing() && engine.getHydraulics().isFinished()
+            || !engine.isPressing() && engine.getPiston().getExtension() == engine.getPiston().getMaxExtension();
+        if (finished) {
+            holdTime += elapsedSeconds;
+            if (holdTime >= HOLD_SECONDS)
+                restart();
+        }
+    }
+
+    private void render() {
+        gc.setFill(Color.LIGHTGRAY);
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        double top = (canvas.getHeight() - TUBE_HEIGHT * scale) / 2;
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+
+        // Труба и опора
+        gc.setFill(Color.GRAY);
+        rect(0, top, WALL * scale, TUBE_HEIGHT * scale, true);
+        gc.setFill(Color.DARKGRAY);
+        rect(WALL * scale, top, 10 * scale, TUBE_HEIGHT * scale, true);
+
+        // Поршень: шток и прижим, прижим упирается в переднюю грань пакета
+        double extension = engine.getPiston().getExtension();
+        double pistonTop = top + 10 * scale;
+        double pistonHeight = (TUBE_HEIGHT - 20) * scale;
+        gc.setFill(Color.DARKBLUE);
+        if (extension > 0)
+            rect(PistonState.PRESS_OFFSET * scale, pistonTop + 10 * scale, extension * scale, pistonHeight - 20 * scale, true);
+        rect((PistonState.PRESS_OFFSET + extension) * scale, pistonTop, PistonState.PRESS_WIDTH * scale, pistonHeight, true);
+
+        // Слои
+        double layerTop = top + (TUBE_HEIGHT - LAYER_HEIGHT) / 2 * scale;
+        for (int i = 0; i < stack.size(); i++) {
+            double width = stack.getLayerThickness(i) * scale;
+            gc.setFill(stack.getLayer(i).isBroken() ? Material.BROKEN_COLOR : Material.feedbackColor(stack.getLayerForceRatio(i)));
+            rect((SPECIMEN_GAP + stack.getLayerPosition(i)) * scale, layerTop, width, LAYER_HEIGHT * scale, width >= MIN_STROKE_WIDTH);
+        }
+
+        statusLabel.setText(String.format("Давление: %.0f МПа   Разрушено слоёв: %d из %d   Под поршнем: %d   t = %.1f с",
+            engine.getPressure() / 1_000_000, stack.getBrokenCount(), stack.size(), stack.getContactCount(), engine.getTime()));
+    }
+
+    private void rect(double x, double y, double width, double height, boolean stroke) {
+        gc.fillRect(x, y, width, height);
+        if (stroke)
+            gc.strokeRect(x, y, width, height);
+    }
+}
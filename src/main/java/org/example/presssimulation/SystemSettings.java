@@ -0,0 +1,23 @@
+package org.example.presssimulation;
+
+import org.example.presssimulation.engine.FixedStepIntegrator;
+import org.example.presssimulation.engine.PressureProgram;
+
+// Раздел system_settings файла настроек и необязательный раздел pressure_program.
+// Без программы давление растёт линейно со скоростью pressureIncrement до maxPressure.
+// specimenElements > 0 разбивает образец на столько элементов вдоль оси, 0 - образец считается целым блоком.
+public record SystemSettings(double maxPressure, double pressureIncrement, double contactArea,
+                             double timeStep, int maxSubSteps, PressureProgram program, int specimenElements) {
+
+    public SystemSettings(double maxPressure, double pressureIncrement, double contactArea, double timeStep, int maxSubSteps) {
+        this(maxPressure, pressureIncrement, contactArea, timeStep, maxSubSteps, null, 0);
+    }
+    public SystemSettings(double maxPressure, double pressureIncrement, double contactArea, double timeStep, int maxSubSteps,
+                          PressureProgram program) {
+        this(maxPressure, pressureIncrement, contactArea, timeStep, maxSubSteps, program, 0);
+    }
+
+    public static final SystemSettings DEFAULT = new SystemSettings(
+        150_000_000, 10_000_000, 0.01, FixedStepIntegrator.DEFAULT_STEP, FixedStepIntegrator.DEFAULT_MAX_SUBSTEPS
+    );
+}
@@ -0,0 +1,114 @@
+package org.example.presssimulation;
+
+import javafx.animation.AnimationTimer;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.example.presssimulation.engine.MinMaxDownsampler;
+import org.example.presssimulation.engine.TelemetryRecorder;
+
+// Окно с графиками давления и силы по всей записи прогона.
+// Точки графика создаются один раз и только получают новые значения.
+class TelemetryChartView {
+    private static final int BUCKETS = 300;
+    private static final long REFRESH_NANOS = 100_000_000L; // 10 раз в секунду достаточно для глаза
+
+    private final TelemetryRecorder recorder;
+    private final Stage stage = new Stage();
+    private final ChannelChart pressureChart;
+    private final ChannelChart forceChart;
+    private final AnimationTimer timer;
+
+    TelemetryChartView(TelemetryRecorder recorder) {
+        this.recorder = recorder;
+
+        pressureChart = new ChannelChart("Давление, МПа", TelemetryRecorder.PRESSURE, 1_000_000);
+        forceChart = new ChannelChart("Сила, кН", TelemetryRecorder.FORCE, 1000);
+
+        VBox root = new VBox(5, pressureChart.chart, forceChart.chart);
+        VBox.setVgrow(pressureChart.chart, Priority.ALWAYS);
+        VBox.setVgrow(forceChart.chart, Priority.ALWAYS);
+
+        stage.setTitle("Запись прогона");
+        stage.setScene(new Scene(root, 700, 500));
+        stage.setOnHidden(e -> stop());
+
+        timer = new AnimationTimer() {
+            private long lastRefresh = 0;
+
+            @Override
+            public void handle(long now) {
+                if (now - lastRefresh < REFRESH_NANOS)
+                    return;
+
+                lastRefresh = now;
+                refresh();
+            }
+        };
+    }
+
+    void show() {
+        refresh();
+        stage.show();
+        stage.toFront();
+        timer.start();
+    }
+
+    private void stop() {
+        timer.stop();
+    }
+
+    private void refresh() {
+        pressureChart.update();
+        forceChart.update();
+    }
+
+    private class ChannelChart {
+        private final LineChart<Number, Number> chart;
+        private final ObservableList<XYChart.Data<Number, Number>> points = FXCollections.observableArrayList();
+        private final MinMaxDownsampler downsampler = new MinMaxDownsampler(BUCKETS);
+        private final int channel;
+        private final double unit;
+
+        ChannelChart(String title, int channel, double unit) {
+            this.channel = channel;
+            this.unit = unit;
+
+            NumberAxis xAxis = new NumberAxis();
+            xAxis.setLabel("Время, с");
+            xAxis.setForceZeroInRange(false);
+            NumberAxis yAxis = new NumberAxis();
+            yAxis.setLabel(title);
+
+            chart = new LineChart<>(xAxis, yAxis);
+            chart.setAnimated(false);
+            chart.setCreateSymbols(false);
+            chart.setLegendVisible(false);
+
+            for (int i = 0; i < downsampler.capacity(); i++)
+                points.add(new XYChart.Data<>(0, 0));
+            chart.getData().add(new XYChart.Series<>(title, points));
+        }
+
+        void update() {
+            int count = downsampler.downsample(recorder, channel);
+
+            for (int i = 0; i < points.size(); i++) {
+                // лишние точки совпадают с последней, чтобы число узлов графика не менялось
+                int source = count == 0 ? -1 : Math.min(i, count - 1);
+                double x = source < 0 ? 0 : downsampler.getX(source);
+                double y = source < 0 ? 0 : downsampler.getY(source) / unit;
+
+                XYChart.Data<Number, Number> point = points.get(i);
+                point.setXValue(x);
+                point.setYValue(y);
+            }
+        }
+    }
+}
@@ -1,163 +1,563 @@
 package org.example.presssimulation;
 
+import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+import org.example.presssimulation.diagnostics.PressMetrics;
+import org.example.presssimulation.diagnostics.YamlIoEvent;
+import org.example.presssimulation.engine.DiscretizedSpecimen;
+import org.example.presssimulation.engine.FixedStepIntegrator;
+import org.example.presssimulation.engine.PressureProgram;
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
 
 public class YamlManager {
-    private static final String SETTINGS_FILE = "settings.yaml";
+    static final String SETTINGS_FILE = "settings.yaml";
     private static final Yaml yaml;
+    private static final DumperOptions dumperOptions;
+    private static final Resolver resolver = new Resolver();
 
     static {
         DumperOptions options = new DumperOptions();
         options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
         options.setPrettyFlow(true);
-        yaml = new Yaml(options);
+
+        // по умолчанию SnakeYAML не читает документы больше 3 МБ, а каталоги бывают намного больше
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+
+        yaml = new Yaml(new Constructor(loaderOptions), new Representer(options), options, loaderOptions);
+        dumperOptions = options;
     }
 
-    public static void saveSystemSettings(double maxPressure, double pressureIncrement, double contactArea) {
-        try {
-            Map<String, Object> data = new LinkedHashMap<>();
-            Map<String, Object> settings = new LinkedHashMap<>();
+    public static void createDefaultFile() {
+        saveAll(SettingsSnapshot.defaults());
+        System.out.println("Создан файл с настройками по умолчанию: " + SETTINGS_FILE);
+    }
 
-            settings.put("max_pressure", maxPressure);
-            settings.put("pressure_increment", pressureIncrement);
-            settings.put("contact_area", contactArea);
+    public static SettingsSnapshot loadSnapshot() {
+        return loadSnapshot(SETTINGS_FILE);
+    }
+    // Файл разбирается один раз: и системные настройки, и материалы берутся из одного документа
+    public static SettingsSnapshot loadSnapshot(String fileName) {
+        List<MaterialConfig> materials = new ArrayList<>();
+        Map<String, String> settings = new HashMap<>();
+        List<Map<String, Object>> program = new ArrayList<>();
 
-            data.put("system_settings", settings);
+        if (stream(fileName, settings, program, materials::add, null) == null)
+            return null;
+        return toSnapshot(settings, program, materials);
+    }
+    // Документ в том же виде, что settings.yaml, но не из файла (например, тело HTTP-запроса)
+    public static SettingsSnapshot readSnapshot(Reader reader, String source) {
+        List<MaterialConfig> materials = new ArrayList<>();
+        Map<String, String> settings = new HashMap<>();
+        List<Map<String, Object>> program = new ArrayList<>();
 
-            yaml.dump(data, new FileWriter(SETTINGS_FILE));
-            System.out.println("Настройки сохранены в " + SETTINGS_FILE);
-        } catch (IOException e) {
-            System.err.println("Ошибка сохранения настроек: " + e.getMessage());
-        }
+        if (parse(reader, source, settings, program, materials::add, null, null) == null)
+            return null;
+        return toSnapshot(settings, program, materials);
     }
+    private static SettingsSnapshot toSnapshot(Map<String, String> settings, List<Map<String, Object>> program,
+                                               List<MaterialConfig> materials) {
+        try {
+            SystemSettings system = SystemSettings.DEFAULT;
+            if (!settings.isEmpty()) {
+                // шаг интегрирования появился позже, в старых файлах его нет
+                String timeStep = settings.get("time_step");
+                String maxSubSteps = settings.get("max_substeps");
+                String specimenElements = settings.get("specimen_elements");
+                int elements = specimenElements != null ? (int) Double.parseDouble(specimenElements) : 0;
+                if (elements < 0 || elements > DiscretizedSpecimen.MAX_ELEMENTS)
+                    throw new IllegalArgumentException("specimen_elements должно быть от 0 до " + DiscretizedSpecimen.MAX_ELEMENTS);
+                double step = timeStep != null ? Double.parseDouble(timeStep) : FixedStepIntegrator.DEFAULT_STEP;
+                if (!(step > 0) || Double.isInfinite(step))
+                    throw new IllegalArgumentException("time_step должно быть положительным: " + timeStep);
+                int subSteps = maxSubSteps != null ? (int) Double.parseDouble(maxSubSteps) : FixedStepIntegrator.DEFAULT_MAX_SUBSTEPS;
+                if (subSteps < 1)
+                    throw new IllegalArgumentException("max_substeps должно быть не меньше 1: " + maxSubSteps);
 
-    public static void createDefaultFile(double x, double y) {
-        Map<String, Object> data = new LinkedHashMap<>();
+                system = new SystemSettings(
+                    Double.parseDouble(settings.get("max_pressure")),
+                    Double.parseDouble(settings.get("pressure_increment")),
+                    Double.parseDouble(settings.get("contact_area")),
+                    step,
+                    subSteps,
+                    null,
+                    elements
+                );
+            }
+            if (!program.isEmpty()) {
+                String resolution = settings.get("program_resolution");
+                system = new SystemSettings(system.maxPressure(), system.pressureIncrement(), system.contactArea(),
+                    system.timeStep(), system.maxSubSteps(),
+                    toProgram(program, resolution != null ? Double.parseDouble(resolution) : PressureProgram.DEFAULT_RESOLUTION),
+                    system.specimenElements());
+            }
+            return new SettingsSnapshot(system, materials);
+        } catch (RuntimeException e) {
+            System.err.println("Ошибка загрузки настроек: " + e.getMessage());
+        }
+        return null;
+    }
 
-        // Системные настройки по умолчанию
-        Map<String, Object> settings = new LinkedHashMap<>();
-        settings.put("max_pressure", 150_000_000);
-        settings.put("pressure_increment", 10_000_000);
-        settings.put("contact_area", 0.01);
-        data.put("system_settings", settings);
+    public record StreamResult(long loaded, long skipped) {}
 
-        String[][] defaultMaterials = {
-            {"Сталь", "250", "false"},
-            {"Бетон", "30", "true"},
-            {"Стекло", "50", "true"},
-            {"Дерево", "40", "false"}
-        };
+    // Потоковый импорт раздела materials: записи отдаются по одной, дерево документа в памяти не строится.
+    // Испорченные записи пропускаются, progress получает долю прочитанного файла от 0 до 1.
+    public static StreamResult streamMaterials(String fileName, Consumer<MaterialConfig> sink, DoubleConsumer progress) {
+        return stream(fileName, new HashMap<>(), null, sink, progress);
+    }
 
-        List<Map<String, Object>> materialsList = new ArrayList<>();
+    private static StreamResult stream(String fileName, Map<String, String> settings, List<Map<String, Object>> program,
+                                       Consumer<MaterialConfig> sink, DoubleConsumer progress) {
+        YamlIoEvent event = new YamlIoEvent();
+        event.begin();
+        long start = System.nanoTime();
 
-        for (String[] mat : defaultMaterials) {
-            Map<String, Object> matData = new LinkedHashMap<>();
-            matData.put("name", mat[0]);
-            matData.put("strength_mpa", Double.parseDouble(mat[1]));
-            matData.put("fragile", Boolean.parseBoolean(mat[2]));
-            matData.put("contact_area", 0.01);
-            materialsList.add(matData);
-        }
-        data.put("materials", materialsList);
+        StreamResult result = parse(fileName, settings, program, sink, progress);
 
-        try {
-            yaml.dump(data, new FileWriter(SETTINGS_FILE));
-            System.out.println("Создан файл с настройками по умолчанию: " + SETTINGS_FILE);
-        } catch (IOException e) {
-            System.err.println("Ошибка создания файла: " + e.getMessage());
+        PressMetrics.get().recordYamlRead(System.nanoTime() - start, result != null);
+        if (event.shouldCommit()) {
+            event.operation = "read";
+            event.file = fileName;
+            event.bytes = new File(fileName).length();
+            event.materials = result != null ? result.loaded() : 0;
+            event.success = result != null;
+            event.commit();
         }
+        return result;
     }
-
-    public static Map<String, Double> loadSystemSettings() {
-        File file = new File(SETTINGS_FILE);
+    private static StreamResult parse(String fileName, Map<String, String> settings, List<Map<String, Object>> program,
+                                      Consumer<MaterialConfig> sink, DoubleConsumer progress) {
+        File file = new File(fileName);
         if (!file.exists()) {
-            System.out.println("Файл настроек не найден, будут созданы значения по умолчанию");
+            System.out.println("Файл настроек не найден: " + fileName);
             return null;
         }
 
+        long fileSize = Math.max(file.length(), 1);
+        try (CountingInputStream counter = new CountingInputStream(new FileInputStream(file));
+             Reader reader = new InputStreamReader(counter, StandardCharsets.UTF_8)) {
+            return parse(reader, fileName, settings, program, sink, () -> counter.getCount() / (double) fileSize, progress);
+        } catch (IOException e) {
+            System.err.println("Ошибка чтения " + fileName + ": " + e.getMessage());
+        }
+        return null;
+    }
+    // program == null - раздел pressure_program не нужен и пропускается
+    private static StreamResult parse(Reader reader, String source, Map<String, String> settings, List<Map<String, Object>> program,
+                                      Consumer<MaterialConfig> sink, DoubleSupplier position, DoubleConsumer progress) {
+        long[] loaded = new long[1];
+        long[] skipped = new long[1];
+
         try {
-            InputStream inputStream = new FileInputStream(SETTINGS_FILE);
-            Map<String, Object> data = yaml.load(inputStream);
+            Iterator<Event> events = yaml.parse(reader).iterator();
 
-            if (data != null && data.containsKey("system_settings")) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> settings = (Map<String, Object>) data.get("system_settings");
+            Event root = nextNode(events);
+            if (!(root instanceof MappingStartEvent)) {
+                skipNode(events, root);
+                return new StreamResult(0, 0);
+            }
 
-                Map<String, Double> result = new HashMap<>();
-                result.put("max_pressure", Double.parseDouble(settings.get("max_pressure").toString()));
-                result.put("pressure_increment", Double.parseDouble(settings.get("pressure_increment").toString()));
-                result.put("contact_area", Double.parseDouble(settings.get("contact_area").toString()));
+            Event key;
+            while (!((key = events.next()) instanceof MappingEndEvent)) {
+                Event value = events.next();
+                String section = key instanceof ScalarEvent scalar ? scalar.getValue() : "";
+                skipNode(events, key);
 
-                return result;
+                if (section.equals("system_settings") && value instanceof MappingStartEvent) {
+                    readScalars(events, settings);
+                }
+                else if (section.equals("pressure_program") && value instanceof SequenceStartEvent && program != null) {
+                    Event item;
+                    while (!((item = events.next()) instanceof SequenceEndEvent)) {
+                        if (!(item instanceof MappingStartEvent))
+                            throw new IllegalArgumentException("участок программы давления должен быть отображением");
+                        program.add(readSegment(events));
+                    }
+                }
+                else if (section.equals("materials") && value instanceof SequenceStartEvent) {
+                    Map<String, String> entry = new HashMap<>();
+                    Event item;
+                    while (!((item = events.next()) instanceof SequenceEndEvent)) {
+                        entry.clear();
+                        MaterialConfig material = item instanceof MappingStartEvent && readScalars(events, entry)
+                            ? toMaterialConfig(entry) : null;
+                        if (!(item instanceof MappingStartEvent))
+                            skipNode(events, item);
+
+                        if (material != null) {
+                            sink.accept(material);
+                            loaded[0]++;
+                        } else {
+                            skipped[0]++;
+                        }
+
+                        if (progress != null && (loaded[0] + skipped[0]) % 1000 == 0)
+                            progress.accept(Math.min(position.getAsDouble(), 1));
+                    }
+                }
+                else {
+                    skipNode(events, value);
+                }
             }
+
+            if (progress != null)
+                progress.accept(1);
+            if (skipped[0] > 0)
+                System.err.println("Пропущено испорченных записей материалов: " + skipped[0]);
+            return new StreamResult(loaded[0], skipped[0]);
         } catch (Exception e) {
-            System.err.println("Ошибка загрузки настроек: " + e.getMessage());
+            System.err.println("Ошибка загрузки " + source + " после " + loaded[0] + " записей: " + e.getMessage());
         }
         return null;
     }
-    public static List<Material> loadMaterials(double x, double y) {
-        File file = new File(SETTINGS_FILE);
-        if (!file.exists()) {
-            System.out.println("Файл настроек не найден");
-            return null;
-        }
 
-        try {
-            InputStream inputStream = new FileInputStream(SETTINGS_FILE);
-            Map<String, Object> data = yaml.load(inputStream);
+    // Документ выдаётся событиями эмиттера по одной записи, без промежуточного дерева из Map
+    private static void emit(Writer writer, SettingsSnapshot snapshot) throws IOException {
+        Emitter emitter = new Emitter(writer, dumperOptions);
+        emitter.emit(new StreamStartEvent(null, null));
+        emitter.emit(new DocumentStartEvent(null, null, false, null, null));
+        emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+
+        // Системные настройки
+        SystemSettings system = snapshot.system();
+        emitScalar(emitter, "system_settings");
+        emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+        emitEntry(emitter, "max_pressure", system.maxPressure());
+        emitEntry(emitter, "pressure_increment", system.pressureIncrement());
+        emitEntry(emitter, "contact_area", system.contactArea());
+        emitEntry(emitter, "time_step", system.timeStep());
+        emitEntry(emitter, "max_substeps", system.maxSubSteps());
+        if (system.program() != null)
+            emitEntry(emitter, "program_resolution", system.program().resolution());
+        if (system.specimenElements() > 0)
+            emitEntry(emitter, "specimen_elements", system.specimenElements());
+        emitter.emit(new MappingEndEvent(null, null));
 
-            if (data != null && data.containsKey("materials")) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> materialsList = (List<Map<String, Object>>) data.get("materials");
+        if (system.program() != null)
+            emitProgram(emitter, system.program());
 
-                List<Material> materials = new ArrayList<>();
-                for (Map<String, Object> matData : materialsList) {
-                    String name = (String) matData.get("name");
-                    double strength = Double.parseDouble(matData.get("strength_mpa").toString());
-                    boolean fragile = (Boolean) matData.get("fragile");
-                    double contactArea = Double.parseDouble(matData.get("contact_area").toString());
+        // Материалы
+        emitScalar(emitter, "materials");
+        emitter.emit(new SequenceStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+        for (MaterialConfig material : snapshot.materials()) {
+            emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+            emitEntry(emitter, "name", material.getName());
+            emitEntry(emitter, "strength_mpa", material.getCompressiveStrengthMPa());
+            emitEntry(emitter, "fragile", material.isFragile());
+            emitEntry(emitter, "contact_area", material.getContactArea());
+            if (material.getWeibullModulus() > 0)
+                emitEntry(emitter, "weibull_modulus", material.getWeibullModulus());
+            emitter.emit(new MappingEndEvent(null, null));
+        }
+        emitter.emit(new SequenceEndEvent(null, null));
 
-                    materials.add(new Material(x, y, name, strength, fragile, contactArea));
+        emitter.emit(new MappingEndEvent(null, null));
+        emitter.emit(new DocumentEndEvent(null, null, false));
+        emitter.emit(new StreamEndEvent(null, null));
+    }
+    // Давление в файле в МПа, как и в остальных разделах, которые правит человек
+    private static void emitProgram(Emitter emitter, PressureProgram program) throws IOException {
+        emitScalar(emitter, "pressure_program");
+        emitter.emit(new SequenceStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+        for (PressureProgram.Segment segment : program.segments()) {
+            emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+            switch (segment) {
+                case PressureProgram.Ramp ramp -> {
+                    emitEntry(emitter, "type", "ramp");
+                    emitEntry(emitter, "to_mpa", ramp.to() / 1_000_000);
+                    emitEntry(emitter, "seconds", ramp.seconds());
+                }
+                case PressureProgram.Hold hold -> {
+                    emitEntry(emitter, "type", "hold");
+                    emitEntry(emitter, "seconds", hold.seconds());
+                }
+                case PressureProgram.Step step -> {
+                    emitEntry(emitter, "type", "step");
+                    emitEntry(emitter, "to_mpa", step.to() / 1_000_000);
+                }
+                case PressureProgram.Sine sine -> {
+                    emitEntry(emitter, "type", "sine");
+                    emitEntry(emitter, "amplitude_mpa", sine.amplitude() / 1_000_000);
+                    emitEntry(emitter, "period", sine.period());
+                    emitEntry(emitter, "seconds", sine.seconds());
                 }
+                case PressureProgram.Samples samples -> {
+                    emitEntry(emitter, "type", "samples");
+                    emitList(emitter, "times", samples.times(), 1);
+                    emitList(emitter, "pressures_mpa", samples.pressures(), 1_000_000);
+                }
+            }
+            emitter.emit(new MappingEndEvent(null, null));
+        }
+        emitter.emit(new SequenceEndEvent(null, null));
+    }
+    private static void emitList(Emitter emitter, String key, List<Double> values, double unit) throws IOException {
+        emitScalar(emitter, key);
+        emitter.emit(new SequenceStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.FLOW));
+        for (double value : values)
+            emitter.emit(new ScalarEvent(null, null, new ImplicitTuple(true, false), String.valueOf(value / unit), null, null, DumperOptions.ScalarStyle.PLAIN));
+        emitter.emit(new SequenceEndEvent(null, null));
+    }
+    private static void emitEntry(Emitter emitter, String key, String text) throws IOException {
+        emitScalar(emitter, key);
+        emitScalar(emitter, text);
+    }
+    private static void emitEntry(Emitter emitter, String key, Object value) throws IOException {
+        emitScalar(emitter, key);
+        emitter.emit(new ScalarEvent(null, null, new ImplicitTuple(true, false), String.valueOf(value), null, null, DumperOptions.ScalarStyle.PLAIN));
+    }
+    // Строки, которые без кавычек прочитались бы как число или логическое значение, эмиттер возьмёт в кавычки
+    private static void emitScalar(Emitter emitter, String text) throws IOException {
+        boolean plain = resolver.resolve(NodeId.scalar, text, true).equals(Tag.STR);
+        emitter.emit(new ScalarEvent(null, null, new ImplicitTuple(plain, true), text, null, null, DumperOptions.ScalarStyle.PLAIN));
+    }
 
-                return materials;
+    // Читает отображение из скаляров; вложенные узлы пропускаются, а результат считается испорченным
+    private static boolean readScalars(Iterator<Event> events, Map<String, String> out) {
+        boolean valid = true;
+        Event key;
+        while (!((key = events.next()) instanceof MappingEndEvent)) {
+            Event value = events.next();
+            if (key instanceof ScalarEvent k && value instanceof ScalarEvent v) {
+                out.put(k.getValue(), v.getValue());
+            } else {
+                skipNode(events, key);
+                skipNode(events, value);
+                valid = false;
             }
-        } catch (Exception e) {
-            System.err.println("Ошибка загрузки материалов: " + e.getMessage());
         }
-        return null;
+        return valid;
     }
 
-    public static void saveAll(double maxPressure, double pressureIncrement, double contactArea, List<Material> materials) {
+    private static MaterialConfig toMaterialConfig(Map<String, String> entry) {
+        String name = entry.get("name");
+        Boolean fragile = parseBoolean(entry.get("fragile"));
+        if (name == null || fragile == null)
+            return null;
+
         try {
-            Map<String, Object> data = new LinkedHashMap<>();
-
-            // Системные настройки
-            Map<String, Object> settings = new LinkedHashMap<>();
-            settings.put("max_pressure", maxPressure);
-            settings.put("pressure_increment", pressureIncrement);
-            settings.put("contact_area", contactArea);
-            data.put("system_settings", settings);
-
-            // Материалы
-            List<Map<String, Object>> materialsList = new ArrayList<>();
-            for (Material material : materials) {
-                Map<String, Object> matData = new LinkedHashMap<>();
-                matData.put("name", material.getName());
-                matData.put("strength_mpa", material.getCompressiveStrength() / 1_000_000);
-                matData.put("fragile", material.isFragile());
-                matData.put("contact_area", material.getContactArea());
-                materialsList.add(matData);
+            String modulus = entry.get("weibull_modulus"); // необязательный ключ
+            return new MaterialConfig(
+                name,
+                Double.parseDouble(entry.get("strength_mpa")),
+                fragile,
+                Double.parseDouble(entry.get("contact_area")),
+                modulus == null ? 0 : Double.parseDouble(modulus)
+            );
+        } catch (NullPointerException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Логические значения в написаниях YAML 1.1, которые оставляют файлы, правленные руками: yes/no, on/off, y/n
+    private static Boolean parseBoolean(String value) {
+        if (value == null)
+            return null;
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "on" -> true;
+            case "false", "no", "n", "off" -> false;
+            default -> null;
+        };
+    }
+
+    // Участок программы: скаляры и списки скаляров (точки кривой samples)
+    private static Map<String, Object> readSegment(Iterator<Event> events) {
+        Map<String, Object> segment = new HashMap<>();
+        Event key;
+        while (!((key = events.next()) instanceof MappingEndEvent)) {
+            Event value = events.next();
+            if (!(key instanceof ScalarEvent k))
+                throw new IllegalArgumentException("ключ участка программы давления должен быть скаляром");
+
+            if (value instanceof ScalarEvent v) {
+                segment.put(k.getValue(), v.getValue());
+            } else if (value instanceof SequenceStartEvent) {
+                List<String> items = new ArrayList<>();
+                Event item;
+                while (!((item = events.next()) instanceof SequenceEndEvent)) {
+                    if (!(item instanceof ScalarEvent scalar))
+                        throw new IllegalArgumentException("в списке " + k.getValue() + " допустимы только числа");
+                    items.add(scalar.getValue());
+                }
+                segment.put(k.getValue(), items);
+            } else {
+                throw new IllegalArgumentException("неверное значение " + k.getValue() + " в программе давления");
             }
-            data.put("materials", materialsList);
+        }
+        return segment;
+    }
+
+    private static PressureProgram toProgram(List<Map<String, Object>> entries, double resolution) {
+        List<PressureProgram.Segment> segments = new ArrayList<>();
+        for (Map<String, Object> entry : entries) {
+            String type = String.valueOf(entry.get("type"));
+            segments.add(switch (type) {
+                case "ramp" -> new PressureProgram.Ramp(number(entry, "to_mpa") * 1_000_000, positive(entry, "seconds"));
+                case "hold" -> new PressureProgram.Hold(positive(entry, "seconds"));
+                case "step" -> new PressureProgram.Step(number(entry, "to_mpa") * 1_000_000);
+                case "sine" -> new PressureProgram.Sine(number(entry, "amplitude_mpa") * 1_000_000,
+                    positive(entry, "period"), positive(entry, "seconds"));
+                case "samples" -> new PressureProgram.Samples(numbers(entry, "times", 1), numbers(entry, "pressures_mpa", 1_000_000));
+                default -> throw new IllegalArgumentException("неизвестный участок программы давления: " + type);
+            });
+        }
+        return new PressureProgram(segments, resolution);
+    }
+    private static double number(Map<String, Object> entry, String key) {
+        if (!(entry.get(key) instanceof String text))
+            throw new IllegalArgumentException("в участке " + entry.get("type") + " нет числа " + key);
+        return Double.parseDouble(text);
+    }
+    private static double positive(Map<String, Object> entry, String key) {
+        double value = number(entry, key);
+        if (!(value > 0))
+            throw new IllegalArgumentException(key + " в участке " + entry.get("type") + " должно быть больше нуля");
+        return value;
+    }
+    private static List<Double> numbers(Map<String, Object> entry, String key, double unit) {
+        if (!(entry.get(key) instanceof List<?> items))
+            throw new IllegalArgumentException("в участке " + entry.get("type") + " нет списка " + key);
+        List<Double> values = new ArrayList<>(items.size());
+        for (Object item : items)
+            values.add(Double.parseDouble((String) item) * unit);
+        return values;
+    }
+
+    // Первый узел документа (после служебных событий начала потока и документа)
+    private static Event nextNode(Iterator<Event> events) {
+        while (events.hasNext()) {
+            Event event = events.next();
+            if (!(event instanceof StreamStartEvent) && !(event instanceof DocumentStartEvent))
+                return event;
+        }
+        return null;
+    }
+
+    private static void skipNode(Iterator<Event> events, Event start) {
+        if (!(start instanceof CollectionStartEvent))
+            return;
+
+        int depth = 1;
+        while (depth > 0) {
+            Event event = events.next();
+            if (event instanceof CollectionStartEvent) depth++;
+            else if (event instanceof CollectionEndEvent) depth--;
+        }
+    }
 
-            yaml.dump(data, new FileWriter(SETTINGS_FILE));
-            System.out.println("Все данные сохранены в " + SETTINGS_FILE);
+    private static class CountingInputStream extends BufferedInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in, 1 << 16);
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) count++;
+            return value;
+        }
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) count += read;
+            return read;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    public static List<MaterialConfig> loadMaterialConfigs() {
+        return loadMaterialConfigs(SETTINGS_FILE);
+    }
+    public static List<MaterialConfig> loadMaterialConfigs(String fileName) {
+        SettingsSnapshot snapshot = loadSnapshot(fileName);
+        return snapshot != null ? snapshot.materials() : null;
+    }
+    public static List<Material> loadMaterials(String fileName, double x, double y) {
+        List<MaterialConfig> configs = loadMaterialConfigs(fileName);
+        if (configs == null)
+            return null;
+
+        List<Material> materials = new ArrayList<>(configs.size());
+        for (MaterialConfig config : configs)
+            materials.add(config.toMaterial(x, y));
+
+        return materials;
+    }
+
+    public static void saveAll(SettingsSnapshot snapshot) {
+        saveAll(SETTINGS_FILE, snapshot);
+    }
+    public static void saveAll(String fileName, SettingsSnapshot snapshot) {
+        try {
+            write(fileName, snapshot);
+            System.out.println("Все данные сохранены в " + fileName);
         } catch (IOException e) {
             System.err.println("Ошибка сохранения данных: " + e.getMessage());
         }
     }
+    // Документ пишется во временный файл рядом с целевым и подменяет его одним переименованием,
+    // поэтому при сбое посреди записи старый settings.yaml остаётся целым
+    static void write(String fileName, SettingsSnapshot snapshot) throws IOException {
+        YamlIoEvent event = new YamlIoEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            writeAtomically(fileName, snapshot);
+            success = true;
+        } finally {
+            PressMetrics.get().recordYamlWrite(System.nanoTime() - start, success);
+            if (event.shouldCommit()) {
+                event.operation = "write";
+                event.file = fileName;
+                event.bytes = new File(fileName).length();
+                event.materials = snapshot.materials().size();
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+    private static void writeAtomically(String fileName, SettingsSnapshot snapshot) throws IOException {
+        Path target = Path.of(fileName).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 1 << 16)) {
+                emit(writer, snapshot);
+                writer.flush();
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
 }
\ No newline at end of file
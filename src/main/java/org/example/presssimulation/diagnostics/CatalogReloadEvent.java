@@ -0,0 +1,17 @@
+package org.example.presssimulation.diagnostics;
+
+import jdk.jfr.*;
+
+@Name("org.example.presssimulation.CatalogReload")
+@Label("Catalog Reload")
+@Description("Перестройка индекса и применение нового каталога материалов")
+@Category("Press Simulation")
+@Enabled(false)
+@StackTrace(false)
+public class CatalogReloadEvent extends Event {
+    @Label("Trigger")
+    public String trigger;
+
+    @Label("Materials")
+    public long materials;
+}
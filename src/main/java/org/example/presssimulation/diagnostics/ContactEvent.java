@@ -0,0 +1,30 @@
+package org.example.presssimulation.diagnostics;
+
+import jdk.jfr.*;
+
+@Name("org.example.presssimulation.Contact")
+@Label("Contact Start/Stop")
+@Description("Поршень начал или перестал давить на образец")
+@Category("Press Simulation")
+@Enabled(false)
+@StackTrace(false)
+public class ContactEvent extends Event {
+    @Label("Started")
+    public boolean started;
+
+    @Label("Material")
+    public String material;
+
+    @Label("Simulation Time, s")
+    public double simulationTime;
+
+    public static void emit(boolean started, String material, double simulationTime) {
+        ContactEvent event = new ContactEvent();
+        if (event.shouldCommit()) {
+            event.started = started;
+            event.material = material;
+            event.simulationTime = simulationTime;
+            event.commit();
+        }
+    }
+}
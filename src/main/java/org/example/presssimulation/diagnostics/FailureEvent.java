@@ -0,0 +1,38 @@
+package org.example.presssimulation.diagnostics;
+
+import jdk.jfr.*;
+
+@Name("org.example.presssimulation.Failure")
+@Label("Material Failure")
+@Description("Разрушение образца")
+@Category("Press Simulation")
+@Enabled(false)
+@StackTrace(false)
+public class FailureEvent extends Event {
+    @Label("Material")
+    public String material;
+
+    @Label("Strength, MPa")
+    public double strengthMPa;
+
+    @Label("Pressure, Pa")
+    public double pressure;
+
+    @Label("Force, N")
+    public double force;
+
+    @Label("Simulation Time, s")
+    public double simulationTime;
+
+    public static void emit(String material, double strengthMPa, double pressure, double force, double simulationTime) {
+        FailureEvent event = new FailureEvent();
+        if (event.shouldCommit()) {
+            event.material = material;
+            event.strengthMPa = strengthMPa;
+            event.pressure = pressure;
+            event.force = force;
+            event.simulationTime = simulationTime;
+            event.commit();
+        }
+    }
+}
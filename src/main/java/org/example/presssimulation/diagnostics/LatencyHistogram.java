@@ -0,0 +1,72 @@
+package org.example.presssimulation.diagnostics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Гистограмма задержек в наносекундах с логарифмически-линейными корзинами (как в HdrHistogram):
+// на каждую степень двойки по 32 равные корзины, относительная погрешность не больше ~3%.
+// Запись - одно атомарное увеличение без выделения памяти.
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long nanos) {
+        counts.incrementAndGet(indexOf(Math.max(nanos, 0)));
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            total += counts.get(i);
+        return total;
+    }
+
+    // Верхняя граница корзины, в которую попадает заданная доля записей (0..1); 0, если записей нет
+    public long percentile(double fraction) {
+        long total = count();
+        if (total == 0)
+            return 0;
+
+        long rank = Math.max((long) Math.ceil(fraction * total), 1);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank)
+                return upperBound(i);
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    public long max() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts.get(i) != 0)
+                return upperBound(i);
+        }
+        return 0;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            counts.set(i, 0);
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_COUNT)
+            return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int mantissa = (int) (value >>> exponent); // в диапазоне [32, 64)
+        return (exponent + 1) * SUB_COUNT + mantissa - SUB_COUNT;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_COUNT)
+            return index;
+
+        int exponent = index / SUB_COUNT - 1;
+        long mantissa = index % SUB_COUNT + SUB_COUNT;
+        return ((mantissa + 1) << exponent) - 1;
+    }
+}
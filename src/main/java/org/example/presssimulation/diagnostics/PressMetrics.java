@@ -0,0 +1,139 @@
+package org.example.presssimulation.diagnostics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Общие счётчики и гистограммы. Кадровые метрики пишет только FX-поток,
+// счётчики ввода-вывода - любые потоки. В MBean-сервер регистрируется только UI-приложение.
+public class PressMetrics implements PressMetricsMXBean {
+    public static final String OBJECT_NAME = "org.example.presssimulation:type=PressMetrics";
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    private static final PressMetrics INSTANCE = new PressMetrics();
+
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder engineSteps = new LongAdder();
+    private final LongAdder applyForceCalls = new LongAdder();
+    private final LongAdder yamlReads = new LongAdder();
+    private final LongAdder yamlWrites = new LongAdder();
+    private final LongAdder yamlFailures = new LongAdder();
+
+    private final LatencyHistogram tickTime = new LatencyHistogram();
+    private final LatencyHistogram recentTickTime = new LatencyHistogram();
+    private final LatencyHistogram frameInterval = new LatencyHistogram();
+    private final LatencyHistogram yamlReadTime = new LatencyHistogram();
+    private final LatencyHistogram yamlWriteTime = new LatencyHistogram();
+
+    // выделение памяти считается по FX-потоку, если JVM это умеет
+    private final com.sun.management.ThreadMXBean allocations;
+
+    // окно в одну секунду: FPS, p99 и выделение памяти за последнее окно
+    private long lastFrameNanos;
+    private long windowStartNanos;
+    private long windowFrames;
+    private long windowStartAllocated;
+    private volatile double framesPerSecond;
+    private volatile double recentTickP99Micros;
+    private volatile double allocatedBytesPerFrame;
+
+    private PressMetrics() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        allocations = threads instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()
+            ? sun : null;
+    }
+
+    public static PressMetrics get() {
+        return INSTANCE;
+    }
+
+    public static void register() {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name))
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, name);
+        } catch (JMException e) {
+            System.err.println("Не удалось зарегистрировать метрики в JMX: " + e.getMessage());
+        }
+    }
+
+    // Вызывается в конце каждого кадра: момент кадра, длительность обработки и число шагов движка
+    public void recordFrame(long frameNanos, long tickNanos, long steps) {
+        frames.increment();
+        engineSteps.add(steps);
+        tickTime.record(tickNanos);
+        recentTickTime.record(tickNanos);
+        if (lastFrameNanos != 0)
+            frameInterval.record(frameNanos - lastFrameNanos);
+        lastFrameNanos = frameNanos;
+
+        windowFrames++;
+        if (windowStartNanos == 0) {
+            windowStartNanos = frameNanos;
+            windowStartAllocated = allocatedBytes();
+        }
+        else if (frameNanos - windowStartNanos >= WINDOW_NANOS) {
+            long allocated = allocatedBytes();
+            framesPerSecond = windowFrames * 1e9 / (frameNanos - windowStartNanos);
+            recentTickP99Micros = recentTickTime.percentile(0.99) / 1e3;
+            allocatedBytesPerFrame = allocations != null ? (allocated - windowStartAllocated) / (double) windowFrames : Double.NaN;
+
+            recentTickTime.reset();
+            windowStartNanos = frameNanos;
+            windowStartAllocated = allocated;
+            windowFrames = 0;
+        }
+    }
+
+    public void countApplyForce() {
+        applyForceCalls.increment();
+    }
+
+    public void recordYamlRead(long nanos, boolean success) {
+        yamlReads.increment();
+        yamlReadTime.record(nanos);
+        if (!success) yamlFailures.increment();
+    }
+    public void recordYamlWrite(long nanos, boolean success) {
+        yamlWrites.increment();
+        yamlWriteTime.record(nanos);
+        if (!success) yamlFailures.increment();
+    }
+
+    private long allocatedBytes() {
+        return allocations != null ? allocations.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    @Override public long getFrames() { return frames.sum(); }
+    @Override public double getFramesPerSecond() { return framesPerSecond; }
+    @Override public double getTickP50Micros() { return tickTime.percentile(0.5) / 1e3; }
+    @Override public double getTickP99Micros() { return tickTime.percentile(0.99) / 1e3; }
+    @Override public double getTickMaxMicros() { return tickTime.max() / 1e3; }
+    @Override public double getRecentTickP99Micros() { return recentTickP99Micros; }
+    @Override public double getFrameIntervalP99Millis() { return frameInterval.percentile(0.99) / 1e6; }
+    @Override public double getAllocatedBytesPerFrame() { return allocatedBytesPerFrame; }
+
+    @Override public long getEngineSteps() { return engineSteps.sum(); }
+    @Override public long getApplyForceCalls() { return applyForceCalls.sum(); }
+
+    @Override public long getYamlReads() { return yamlReads.sum(); }
+    @Override public long getYamlWrites() { return yamlWrites.sum(); }
+    @Override public long getYamlFailures() { return yamlFailures.sum(); }
+    @Override public double getYamlReadP99Millis() { return yamlReadTime.percentile(0.99) / 1e6; }
+    @Override public double getYamlWriteP99Millis() { return yamlWriteTime.percentile(0.99) / 1e6; }
+
+    @Override
+    public void reset() {
+        frames.reset();
+        engineSteps.reset();
+        applyForceCalls.reset();
+        yamlReads.reset();
+        yamlWrites.reset();
+        yamlFailures.reset();
+        tickTime.reset();
+        frameInterval.reset();
+        yamlReadTime.reset();
+        yamlWriteTime.reset();
+    }
+}
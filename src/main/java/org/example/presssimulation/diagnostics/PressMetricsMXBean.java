@@ -0,0 +1,24 @@
+package org.example.presssimulation.diagnostics;
+
+// Метрики симулятора для JConsole и JMX-клиентов: org.example.presssimulation:type=PressMetrics
+public interface PressMetricsMXBean {
+    long getFrames();
+    double getFramesPerSecond();
+    double getTickP50Micros();
+    double getTickP99Micros();
+    double getTickMaxMicros();
+    double getRecentTickP99Micros();
+    double getFrameIntervalP99Millis();
+    double getAllocatedBytesPerFrame();
+
+    long getEngineSteps();
+    long getApplyForceCalls();
+
+    long getYamlReads();
+    long getYamlWrites();
+    long getYamlFailures();
+    double getYamlReadP99Millis();
+    double getYamlWriteP99Millis();
+
+    void reset();
+}
@@ -0,0 +1,26 @@
+package org.example.presssimulation.diagnostics;
+
+import jdk.jfr.*;
+
+// События JFR выключены по умолчанию и ничего не стоят, пока запись их не включит, например:
+// -XX:StartFlightRecording:settings=default,+org.example.presssimulation.Tick#enabled=true,+org.example.presssimulation.Contact#enabled=true
+// или через jfr configure / JMC для всей категории "Press Simulation"
+@Name("org.example.presssimulation.Tick")
+@Label("Simulation Tick")
+@Description("Один кадр анимации: прошедшее время, шаги движка, давление и сила")
+@Category("Press Simulation")
+@Enabled(false)
+@StackTrace(false)
+public class TickEvent extends Event {
+    @Label("Elapsed, s")
+    public double elapsed;
+
+    @Label("Engine Steps")
+    public long steps;
+
+    @Label("Pressure, Pa")
+    public double pressure;
+
+    @Label("Force, N")
+    public double force;
+}
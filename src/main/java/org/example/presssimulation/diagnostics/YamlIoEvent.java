@@ -0,0 +1,27 @@
+package org.example.presssimulation.diagnostics;
+
+import jdk.jfr.*;
+
+@Name("org.example.presssimulation.YamlIo")
+@Label("YAML Load/Save")
+@Description("Чтение или запись файла настроек и каталога")
+@Category("Press Simulation")
+@Enabled(false)
+@StackTrace(false)
+public class YamlIoEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("File")
+    public String file;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Materials")
+    public long materials;
+
+    @Label("Success")
+    public boolean success;
+}
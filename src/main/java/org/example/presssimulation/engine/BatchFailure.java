@@ -0,0 +1,82 @@
+package org.example.presssimulation.engine;
+
+import java.util.Arrays;
+
+// Пакетная проверка "что разрушится при этом давлении" для целого каталога образцов.
+// Разрушающие силы хранятся одним массивом; условие то же, что в SpecimenState.applyForce: P × A(поршня) >= σ × A(образца).
+// Если при запуске добавлен модуль jdk.incubator.vector (--add-modules jdk.incubator.vector), сравнение идёт векторами,
+// иначе тем же циклом по одному элементу.
+public class BatchFailure {
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+        && !Boolean.getBoolean("press.scalarKernel");
+    private static final int BLOCK = 4096; // образцов за проход по всем давлениям: 32 КБ сил остаются в L1
+
+    private final double[] destructionForce; // Н
+
+    // Прочность в МПа и площадь образца в м², сила считается так же, как в SpecimenState
+    public BatchFailure(double[] compressiveStrengthMPa, double[] contactArea) {
+        if (compressiveStrengthMPa.length != contactArea.length)
+            throw new IllegalArgumentException("Разная длина массивов прочности и площади");
+
+        destructionForce = new double[compressiveStrengthMPa.length];
+        for (int i = 0; i < destructionForce.length; i++)
+            destructionForce[i] = compressiveStrengthMPa[i] * 1_000_000 * contactArea[i];
+    }
+
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    public int size() {
+        return destructionForce.length;
+    }
+    public double getDestructionForce(int index) {
+        return destructionForce[index];
+    }
+
+    // Биты разрушенных образцов в mask (не короче (size + 63) / 64), возвращает их число
+    public int breaks(double pressure, double pistonArea, long[] mask) {
+        Arrays.fill(mask, 0, (destructionForce.length + 63) >>> 6, 0);
+        double force = pressure * pistonArea; // F = P × A, как в PistonState
+        return VECTORIZED
+            ? VectorFailureKernel.breaks(destructionForce, force, mask)
+            : scalarBreaks(destructionForce, force, mask);
+    }
+
+    // Число разрушенных образцов для каждого давления из pressures
+    public int[] countBroken(double[] pressures, double pistonArea) {
+        double[] forces = new double[pressures.length];
+        for (int j = 0; j < pressures.length; j++)
+            forces[j] = pressures[j] * pistonArea;
+
+        int[] counts = new int[pressures.length];
+        for (int from = 0; from < destructionForce.length; from += BLOCK) {
+            int to = Math.min(from + BLOCK, destructionForce.length);
+            for (int j = 0; j < forces.length; j++) {
+                counts[j] += VECTORIZED
+                    ? VectorFailureKernel.count(destructionForce, from, to, forces[j])
+                    : scalarCount(destructionForce, from, to, forces[j]);
+            }
+        }
+        return counts;
+    }
+
+    static int scalarBreaks(double[] destructionForce, double force, long[] mask) {
+        int count = 0;
+        for (int i = 0; i < destructionForce.length; i++) {
+            if (force >= destructionForce[i]) {
+                mask[i >>> 6] |= 1L << i;
+                count++;
+            }
+        }
+        return count;
+    }
+    static int scalarCount(double[] destructionForce, int from, int to, double force) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (force >= destructionForce[i])
+                count++;
+        }
+        return count;
+    }
+}
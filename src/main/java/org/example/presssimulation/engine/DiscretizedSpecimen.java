@@ -0,0 +1,336 @@
+package org.example.presssimulation.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Образец, разбитый вдоль оси пресса на N элементов. Узел 0 - грань под поршнем, узел N упирается в опору,
+// внутренние узлы держатся за стенки трением (пружины на опору). Образец разрушается, когда разрушается
+// первый элемент, а не по одному порогу силы.
+//
+// Хрупкий материал упругий до разрушения: напряжения пропорциональны силе, отклик на единичную силу
+// считается один раз, и порог разрушения точный. Пластичный материал после начала текучести считается
+// на каждом шаге до равновесия методом Ньютона: возврат на поверхность текучести (линейное упрочнение)
+// даёт напряжения и касательные модули, поправка перемещений - прогонкой по касательной жёсткости.
+// Первое приближение - готовый отклик на 1 Н, умноженный на приращение силы; пока касательные модули
+// не меняются, шаг обходится без прогонки, а после их смены отклик берётся подстановкой по разложению
+// последней итерации. Если Ньютон не сходится за MAX_ITERATIONS, приращение силы дробится пополам
+// (не больше MAX_HALVINGS раз); шаг, не сошедшийся и так, принимается, но isConverged() вернёт false.
+// Элемент рвётся при предельной накопленной пластической деформации.
+// Все массивы выделяются в конструкторе, applyForce ничего не создаёт.
+public class DiscretizedSpecimen extends SpecimenState {
+    public static final int MAX_ELEMENTS = 1 << 20;
+
+    private static final double SUPPORT_RATIO = 0.5; // жёсткость трения о стенки в сумме относительно осевой жёсткости образца
+    private static final double YIELD_STRAIN = 0.002; // деформация при пределе прочности, задаёт модуль упругости E = σ / ε
+    private static final double HARDENING_RATIO = 0.01; // модуль упрочнения пластичного материала относительно E
+    private static final double ULTIMATE_PLASTIC_STRAIN = 0.02; // накопленная пластическая деформация разрыва элемента
+    private static final double TOLERANCE = 1e-9; // допустимая невязка сил в узлах относительно порога текучести
+    private static final int MAX_ITERATIONS = 25;
+    private static final int MAX_HALVINGS = 10; // приращение силы делится не больше чем на 1024 части
+
+    private final int elements;
+    private final double modulus; // E, Па
+    private final double hardening; // модуль упрочнения, Па
+    private final double plasticTangent; // касательный модуль за пределом текучести, Па
+    private final double elementLength; // м; образец считается кубом со стороной √A
+    private final double supportStiffness; // Н/м на внутренний узел
+    private final double[] strength; // Па, по элементам (с разбросом по Вейбуллу, если он задан)
+    private final double[] unitStress; // напряжение в упругом состоянии от силы 1 Н, 1/м²
+    private final double criticalForce; // разрушение хрупкого или начало текучести пластичного, Н
+    private final int criticalElement;
+
+    // состояние пластичного расчёта: принятое на прошлом шаге и пробное текущей итерации
+    private final double[] displacement; // перемещения узлов 0..N-1, м (узел N неподвижен)
+    private final double[] acceptedDisplacement; // перемещения принятого состояния - к ним откат при дроблении шага
+    private double[] plasticStrain;
+    private double[] accumulated; // накопленная пластическая деформация
+    private double[] trialPlasticStrain;
+    private double[] trialAccumulated;
+    private final double[] tangent; // касательные модули по последней итерации
+    private final double[] unitDisplacement; // перемещения от 1 Н при текущих касательных модулях
+    private final double[] correction; // невязка, затем поправка перемещений
+    private final double[] lower;
+    private final double[] diag;
+    private final double[] upper;
+    private final TridiagonalSolver solver;
+
+    private boolean plastic = false; // после первой текучести считаем до равновесия до сброса
+    private boolean factored = false; // разложение в solver соответствует текущим касательным модулям
+    private boolean unitValid = false; // unitDisplacement соответствует текущим касательным модулям
+    private boolean broken = false;
+    private boolean converged = true; // все части последнего шага пришли к равновесию
+    private double currentForce = 0;
+    private double appliedForce = 0; // сила, с которой уравновешено принятое состояние
+    private double forceRatio = 0;
+    private int failedElement = -1;
+
+    public DiscretizedSpecimen(String name, double compressiveStrengthMPa, boolean isFragile, double contactArea,
+                               double weibullModulus, int elements, long seed) {
+        super(name, compressiveStrengthMPa, isFragile, contactArea);
+        if (elements < 1 || elements > MAX_ELEMENTS)
+            throw new IllegalArgumentException("Число элементов должно быть от 1 до " + MAX_ELEMENTS);
+
+        this.elements = elements;
+        this.modulus = getCompressiveStrength() / YIELD_STRAIN;
+        this.hardening = HARDENING_RATIO * modulus;
+        this.plasticTangent = modulus * hardening / (modulus + hardening);
+        double length = Math.sqrt(contactArea);
+        this.elementLength = length / elements;
+        this.supportStiffness = SUPPORT_RATIO * modulus * contactArea / length / elements;
+
+        // прочность образца в целом остаётся характерной: у N элементов масштаб больше в N^(1/m) раз (слабейшее звено)
+        this.strength = new double[elements];
+        if (weibullModulus > 0) {
+            WeibullStrength scatter = new WeibullStrength(getCompressiveStrength() * Math.pow(elements, 1 / weibullModulus), weibullModulus);
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < elements; i++)
+                strength[i] = scatter.sample(random);
+        } else {
+            Arrays.fill(strength, getCompressiveStrength());
+        }
+
+        this.displacement = new double[elements];
+        this.acceptedDisplacement = new double[elements];
+        this.plasticStrain = new double[elements];
+        this.accumulated = new double[elements];
+        this.trialPlasticStrain = new double[elements];
+        this.trialAccumulated = new double[elements];
+        this.tangent = new double[elements];
+        this.unitDisplacement = new double[elements];
+        this.correction = new double[elements];
+        this.lower = new double[elements];
+        this.diag = new double[elements];
+        this.upper = new double[elements];
+        this.solver = new TridiagonalSolver(elements);
+
+        // упругий отклик на 1 Н: по нему порог и все напряжения до текучести. Сила в элементе - из равновесия
+        // узлов (N(i-1) = N(i) + k·u(i)): у грани под поршнем она точно равна приложенной, без потери
+        // точности на разности близких перемещений
+        Arrays.fill(tangent, modulus);
+        updateUnitDisplacement();
+        this.unitStress = new double[elements];
+        double force = 1;
+        double minForce = Double.POSITIVE_INFINITY;
+        int minElement = 0;
+        for (int i = 0; i < elements; i++) {
+            if (i > 0)
+                force -= supportStiffness * unitDisplacement[i];
+            unitStress[i] = force / contactArea;
+
+            double breaking = strength[i] * contactArea / force; // при N = 1 ровно σ × A, как в SpecimenState
+            if (breaking < minForce) {
+                minForce = breaking;
+                minElement = i;
+            }
+        }
+        this.criticalForce = minForce;
+        this.criticalElement = minElement;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (plastic) {
+            Arrays.fill(plasticStrain, 0);
+            Arrays.fill(accumulated, 0);
+            Arrays.fill(tangent, modulus);
+            factored = false;
+            unitValid = false;
+        }
+        plastic = false;
+        broken = false;
+        converged = true;
+        currentForce = 0;
+        appliedForce = 0;
+        forceRatio = 0;
+        failedElement = -1;
+    }
+
+    @Override
+    public boolean applyForce(double force) {
+        if (broken)
+            return false;
+
+        currentForce = force;
+        if (!plastic) {
+            forceRatio = force / criticalForce;
+            if (force < criticalForce)
+                return false;
+
+            if (isFragile())
+                return fail(criticalElement);
+
+            // выходим на порог текучести по упругому решению, дальше считаем до равновесия
+            updateUnitDisplacement();
+            for (int i = 0; i < elements; i++)
+                displacement[i] = criticalForce * unitDisplacement[i];
+            System.arraycopy(displacement, 0, acceptedDisplacement, 0, elements);
+            appliedForce = criticalForce;
+            plastic = true;
+        }
+        return equilibrate(force);
+    }
+
+    // Равновесие при force от принятого состояния. Не сошедшееся приращение откатывается и проходится
+    // половинами; каждая сошедшаяся часть принимается, следующая берётся того же размера
+    private boolean equilibrate(double force) {
+        double target = force;
+        int halvings = 0;
+        converged = true;
+        while (true) {
+            boolean reached = iterate(target);
+            double half = appliedForce + (target - appliedForce) / 2;
+            if (!reached && halvings < MAX_HALVINGS && half != appliedForce) {
+                System.arraycopy(acceptedDisplacement, 0, displacement, 0, elements);
+                target = half;
+                halvings++;
+                continue;
+            }
+
+            converged &= reached;
+            double piece = target - appliedForce;
+            accept(target);
+            if (failedElement >= 0)
+                return fail(failedElement);
+            if (target == force)
+                return false;
+            target = Math.abs(force - target) > Math.abs(piece) ? target + piece : force;
+        }
+    }
+
+    // Ньютон от принятого состояния; true - невязка в допуске
+    private boolean iterate(double force) {
+        updateUnitDisplacement();
+        double delta = force - appliedForce;
+        for (int i = 0; i < elements; i++)
+            displacement[i] += delta * unitDisplacement[i];
+
+        double tolerance = TOLERANCE * criticalForce;
+        for (int iteration = 0; ; iteration++) {
+            if (evaluate(force) <= tolerance)
+                return true;
+            if (iteration == MAX_ITERATIONS)
+                return false;
+
+            factor();
+            solver.solve(lower, correction, correction);
+            for (int i = 0; i < elements; i++)
+                displacement[i] += correction[i];
+        }
+    }
+
+    // Принимает пробное пластическое состояние последней итерации
+    private void accept(double force) {
+        double[] swap = plasticStrain;
+        plasticStrain = trialPlasticStrain;
+        trialPlasticStrain = swap;
+        swap = accumulated;
+        accumulated = trialAccumulated;
+        trialAccumulated = swap;
+
+        System.arraycopy(displacement, 0, acceptedDisplacement, 0, elements);
+        appliedForce = force;
+    }
+
+    // Напряжения по текущим перемещениям от принятого пластического состояния (возврат на поверхность
+    // текучести), касательные модули и невязка сил в узлах в correction. Возвращает наибольшую невязку, Н
+    private double evaluate(double force) {
+        double area = getContactArea();
+        double previousForce = force; // на узел 0 давит поршень
+        double maxResidual = 0;
+        double maxRatio = 0;
+        int failed = -1;
+
+        for (int i = 0; i < elements; i++) {
+            double next = i + 1 < elements ? displacement[i + 1] : 0;
+            double strain = (displacement[i] - next) / elementLength;
+
+            double stress = modulus * (strain - plasticStrain[i]);
+            double excess = Math.abs(stress) - (strength[i] + hardening * accumulated[i]);
+            double nextTangent = modulus;
+            trialPlasticStrain[i] = plasticStrain[i];
+            trialAccumulated[i] = accumulated[i];
+            if (excess > 0) {
+                double increment = excess / (modulus + hardening);
+                double sign = Math.signum(stress);
+                stress -= sign * modulus * increment;
+                trialPlasticStrain[i] += sign * increment;
+                trialAccumulated[i] += increment;
+                nextTangent = plasticTangent;
+            }
+            if (nextTangent != tangent[i]) {
+                tangent[i] = nextTangent;
+                factored = false;
+                unitValid = false;
+            }
+
+            double elementForce = stress * area;
+            double residual = previousForce - elementForce - (i > 0 ? supportStiffness * displacement[i] : 0);
+            correction[i] = residual;
+            maxResidual = Math.max(maxResidual, Math.abs(residual));
+            previousForce = elementForce;
+
+            maxRatio = Math.max(maxRatio, stress / strength[i]);
+            if (failed < 0 && trialAccumulated[i] >= ULTIMATE_PLASTIC_STRAIN)
+                failed = i;
+        }
+
+        forceRatio = maxRatio;
+        failedElement = failed;
+        return maxResidual;
+    }
+
+    private boolean fail(int element) {
+        broken = true;
+        failedElement = element;
+        return true;
+    }
+
+    // Касательная матрица жёсткости (строка i - равновесие узла i) и её разложение
+    private void factor() {
+        if (factored)
+            return;
+
+        double stiffnessScale = getContactArea() / elementLength;
+        double previous = 0;
+        for (int i = 0; i < elements; i++) {
+            double stiffness = tangent[i] * stiffnessScale;
+            lower[i] = -previous;
+            diag[i] = stiffness + (i > 0 ? previous + supportStiffness : 0);
+            upper[i] = -stiffness;
+            previous = stiffness;
+        }
+        solver.factor(lower, diag, upper, elements);
+        factored = true;
+    }
+
+    private void updateUnitDisplacement() {
+        if (unitValid)
+            return;
+
+        factor();
+        Arrays.fill(unitDisplacement, 0);
+        unitDisplacement[0] = 1;
+        solver.solve(lower, unitDisplacement, unitDisplacement);
+        unitValid = true;
+    }
+
+    // Для пластичного материала порог - только начало текучести, момент разрыва в закрытом виде не считается
+    @Override
+    public boolean isThresholdExact() {
+        return isFragile();
+    }
+
+    @Override
+    public double getForceRatio() { return forceRatio; }
+    @Override
+    public double getDestructionForce() { return criticalForce; }
+    @Override
+    public double getCurrentForce() { return currentForce; }
+    @Override
+    public boolean isBroken() { return broken; }
+
+    public int getElementCount() { return elements; }
+    public int getFailedElement() { return failedElement; }
+    public boolean isConverged() { return converged; }
+}
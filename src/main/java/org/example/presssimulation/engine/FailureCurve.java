@@ -0,0 +1,9 @@
+package org.example.presssimulation.engine;
+
+// Вероятность разрушения в зависимости от давления (Па) и 95% доверительный интервал Уилсона по samples образцам
+public record FailureCurve(double[] pressures, double[] probability, double[] lower, double[] upper, long samples) {
+
+    public int size() {
+        return pressures.length;
+    }
+}
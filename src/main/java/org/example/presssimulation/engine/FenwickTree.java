@@ -0,0 +1,72 @@
+package org.example.presssimulation.engine;
+
+import java.util.Arrays;
+
+// Дерево Фенвика над неотрицательными величинами: изменение одной величины, префиксная сумма
+// и поиск по префиксной сумме - за O(log n). Значения хранятся и отдельно, чтобы читать их за O(1).
+class FenwickTree {
+    private final double[] tree; // индексы с 1
+    private final double[] values;
+    private final int highestBit;
+
+    FenwickTree(int size) {
+        this.tree = new double[size + 1];
+        this.values = new double[size];
+        this.highestBit = Integer.highestOneBit(Math.max(size, 1));
+    }
+
+    // Построение за O(n) вместо n вызовов add
+    void assign(double[] source) {
+        System.arraycopy(source, 0, values, 0, values.length);
+        Arrays.fill(tree, 0);
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length)
+                tree[parent] += tree[i];
+        }
+    }
+
+    void add(int index, double delta) {
+        values[index] += delta;
+        for (int i = index + 1; i < tree.length; i += i & -i)
+            tree[i] += delta;
+    }
+    void set(int index, double value) {
+        add(index, value - values[index]);
+    }
+
+    double get(int index) {
+        return values[index];
+    }
+
+    // Сумма значений 0..index включительно; index = -1 даёт 0
+    double prefix(int index) {
+        double sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i)
+            sum += tree[i];
+        return sum;
+    }
+
+    double total() {
+        return prefix(values.length - 1);
+    }
+
+    // Первый индекс, префиксная сумма по которому больше limit (size(), если такого нет)
+    int firstAbove(double limit) {
+        int position = 0;
+        double sum = 0;
+        for (int step = highestBit; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && sum + tree[next] <= limit) {
+                position = next;
+                sum += tree[next];
+            }
+        }
+        return position;
+    }
+
+    int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.presssimulation.engine;
+
+import java.util.function.DoubleConsumer;
+
+// Фиксированный шаг интегрирования с накопителем времени кадра.
+// За кадр делается не больше maxSubSteps шагов: после паузы или сборки мусора лишнее время отбрасывается,
+// а не скармливается движку одним огромным шагом. Одинаковые входы дают одинаковую последовательность шагов
+// на любой машине, поэтому и моменты разрушения совпадают бит в бит.
+public class FixedStepIntegrator {
+    public static final double DEFAULT_STEP = 0.001;
+    public static final int DEFAULT_MAX_SUBSTEPS = 50;
+
+    private final DoubleConsumer stepper;
+    private final double step;
+    private final int maxSubSteps;
+    private double accumulator = 0;
+    private long steps = 0;
+
+    public FixedStepIntegrator(DoubleConsumer stepper, double step, int maxSubSteps) {
+        if (step <= 0 || maxSubSteps < 1)
+            throw new IllegalArgumentException("Шаг должен быть положительным, а число подшагов не меньше 1");
+
+        this.stepper = stepper;
+        this.step = step;
+        this.maxSubSteps = maxSubSteps;
+    }
+
+    // Возвращает число сделанных шагов
+    public int advance(double frameSeconds) {
+        accumulator += frameSeconds;
+
+        int done = 0;
+        while (accumulator >= step && done < maxSubSteps) {
+            stepper.accept(step);
+            accumulator -= step;
+            done++;
+        }
+
+        // не догоняем больше, чем позволено за кадр
+        if (accumulator >= step)
+            accumulator = 0;
+
+        steps += done;
+        return done;
+    }
+
+    // Доля шага, прошедшая после последнего шага, для интерполяции отрисовки
+    public double getAlpha() {
+        return accumulator / step;
+    }
+
+    public void reset() {
+        accumulator = 0;
+        steps = 0;
+    }
+
+    public double getStep() { return step; }
+    public int getMaxSubSteps() { return maxSubSteps; }
+    public long getSteps() { return steps; }
+}
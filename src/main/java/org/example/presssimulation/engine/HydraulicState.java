@@ -0,0 +1,46 @@
+package org.example.presssimulation.engine;
+
+public class HydraulicState {
+    private double maxPressure; // Па
+    private double pressureIncrement; // Па/с
+    private double pressure = 0;
+    private PressureProfile profile; // программа давления; null - линейный рост со скоростью pressureIncrement
+    private double elapsed = 0; // время с начала нажатия, по нему читается программа
+
+    public HydraulicState(double maxPressure, double pressureIncrement) {
+        this.maxPressure = maxPressure;
+        this.pressureIncrement = pressureIncrement;
+    }
+
+    public void ramp(double elapsedSeconds) {
+        if (profile != null) {
+            elapsed += elapsedSeconds;
+            pressure = Math.min(profile.pressureAt(elapsed), maxPressure);
+            return;
+        }
+
+        pressure += pressureIncrement * elapsedSeconds;
+
+        if (pressure > maxPressure)
+            pressure = maxPressure;
+    }
+    public void reset() {
+        pressure = 0;
+        elapsed = 0;
+    }
+
+    // Дальше давление не изменится: линейный рост упёрся в максимум или программа закончилась
+    public boolean isFinished() {
+        return profile != null ? elapsed >= profile.duration() : pressure >= maxPressure;
+    }
+
+    public double getPressure() { return pressure; }
+    public void setPressure(double pressure) { this.pressure = Math.min(pressure, maxPressure); }
+    public double getMaxPressure() { return maxPressure; }
+    public void setMaxPressure(double maxPressure) { this.maxPressure = maxPressure; }
+    public double getPressureIncrement() { return pressureIncrement; }
+    public void setPressureIncrement(double pressureIncrement) { this.pressureIncrement = pressureIncrement; }
+    public PressureProfile getProfile() { return profile; }
+    public void setProfile(PressureProfile profile) { this.profile = profile; }
+    public double getElapsed() { return elapsed; }
+}
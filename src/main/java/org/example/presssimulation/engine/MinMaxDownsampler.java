@@ -0,0 +1,67 @@
+package org.example.presssimulation.engine;
+
+// Сжатие записи до постоянного числа точек: в каждой корзине остаются минимум и максимум в порядке времени,
+// поэтому пики не теряются, а число точек на графике не зависит от длины прогона.
+public class MinMaxDownsampler {
+    private final int buckets;
+    private final double[] x;
+    private final double[] y;
+    private int size = 0;
+
+    public MinMaxDownsampler(int buckets) {
+        this.buckets = buckets;
+        this.x = new double[buckets * 2];
+        this.y = new double[buckets * 2];
+    }
+
+    // Результат в getX/getY, возвращает число точек (не больше 2 × buckets)
+    public int downsample(TelemetryRecorder recorder, int channel) {
+        int n = recorder.size();
+        size = 0;
+
+        if (n <= x.length) {
+            for (int i = 0; i < n; i++)
+                add(recorder.getTime(i), recorder.value(channel, i));
+            return size;
+        }
+
+        for (int b = 0; b < buckets; b++) {
+            int from = (int) ((long) b * n / buckets);
+            int to = (int) ((long) (b + 1) * n / buckets);
+
+            int minIndex = from;
+            int maxIndex = from;
+            double min = recorder.value(channel, from);
+            double max = min;
+
+            for (int i = from + 1; i < to; i++) {
+                double value = recorder.value(channel, i);
+                if (value < min) {
+                    min = value;
+                    minIndex = i;
+                } else if (value > max) {
+                    max = value;
+                    maxIndex = i;
+                }
+            }
+
+            int first = Math.min(minIndex, maxIndex);
+            int second = Math.max(minIndex, maxIndex);
+            add(recorder.getTime(first), recorder.value(channel, first));
+            if (second != first)
+                add(recorder.getTime(second), recorder.value(channel, second));
+        }
+        return size;
+    }
+
+    private void add(double time, double value) {
+        x[size] = time;
+        y[size] = value;
+        size++;
+    }
+
+    public double getX(int index) { return x[index]; }
+    public double getY(int index) { return y[index]; }
+    public int size() { return size; }
+    public int capacity() { return x.length; }
+}
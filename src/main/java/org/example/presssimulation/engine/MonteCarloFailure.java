@@ -0,0 +1,110 @@
+package org.example.presssimulation.engine;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Монте-Карло по прочности: каждый образец получает свою прочность из распределения,
+// и считается, при каком давлении он разрушится (P = σ × A(образца) / A(поршня), как в PressEngine).
+// Выборка делится пополам рекурсивно, левая половина получает random.split() до запуска задач -
+// дерево разбиения зависит только от числа образцов, поэтому результат для одного seed не зависит от числа ядер.
+public class MonteCarloFailure {
+    private static final int LEAF_SAMPLES = 1 << 14;
+    private static final double Z_95 = 1.959963984540054;
+
+    private final WeibullStrength strength;
+    private final double stressToPressure; // A(образца) / A(поршня)
+    private final ForkJoinPool pool;
+
+    public MonteCarloFailure(WeibullStrength strength, double specimenArea, double pistonArea) {
+        this(strength, specimenArea, pistonArea, ForkJoinPool.commonPool());
+    }
+    public MonteCarloFailure(WeibullStrength strength, double specimenArea, double pistonArea, ForkJoinPool pool) {
+        this.strength = strength;
+        this.stressToPressure = specimenArea / pistonArea;
+        this.pool = pool;
+    }
+
+    // Давление, при котором разрушается 63% образцов
+    public double characteristicPressure() {
+        return strength.scale() * stressToPressure;
+    }
+
+    // Кривая на сетке из points давлений от 0 до maxPressure включительно
+    public FailureCurve estimate(double maxPressure, int points, long samples, long seed) {
+        // иначе шаг сетки или доли - бесконечность и NaN
+        if (points < 2)
+            throw new IllegalArgumentException("Нужно хотя бы 2 точки сетки: " + points);
+        if (samples <= 0)
+            throw new IllegalArgumentException("Число образцов должно быть положительным: " + samples);
+        if (!(maxPressure > 0) || Double.isInfinite(maxPressure))
+            throw new IllegalArgumentException("Недопустимое максимальное давление: " + maxPressure);
+
+        double step = maxPressure / (points - 1);
+        long[] failedAt = pool.invoke(new SampleTask(new SplittableRandom(seed), samples, step, points));
+
+        double[] pressures = new double[points];
+        double[] probability = new double[points];
+        double[] lower = new double[points];
+        double[] upper = new double[points];
+
+        // образец разрушен на давлении p_k, если его давление разрушения не выше p_k
+        long failed = 0;
+        for (int k = 0; k < points; k++) {
+            failed += failedAt[k];
+            pressures[k] = k * step;
+            probability[k] = (double) failed / samples;
+            wilson(failed, samples, lower, upper, k);
+        }
+        return new FailureCurve(pressures, probability, lower, upper, samples);
+    }
+
+    private static void wilson(long failed, long samples, double[] lower, double[] upper, int k) {
+        double p = (double) failed / samples;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / samples;
+        double center = (p + z2 / (2.0 * samples)) / denominator;
+        double half = Z_95 * Math.sqrt(p * (1 - p) / samples + z2 / (4.0 * samples * samples)) / denominator;
+        lower[k] = Math.max(0, center - half);
+        upper[k] = Math.min(1, center + half);
+    }
+
+    // Гистограмма: сколько образцов впервые разрушаются на каждой точке сетки
+    private class SampleTask extends RecursiveTask<long[]> {
+        private final SplittableRandom random;
+        private final long count;
+        private final double step;
+        private final int points;
+
+        SampleTask(SplittableRandom random, long count, double step, int points) {
+            this.random = random;
+            this.count = count;
+            this.step = step;
+            this.points = points;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (count <= LEAF_SAMPLES) {
+                long[] histogram = new long[points];
+                for (long i = 0; i < count; i++) {
+                    double failurePressure = strength.sample(random) * stressToPressure;
+                    double bin = Math.ceil(failurePressure / step);
+                    if (bin < points)
+                        histogram[(int) bin]++;
+                }
+                return histogram;
+            }
+
+            long half = count / 2;
+            SampleTask left = new SampleTask(random.split(), half, step, points);
+            SampleTask right = new SampleTask(random, count - half, step, points);
+            left.fork();
+            long[] histogram = right.compute();
+            long[] other = left.join();
+            for (int k = 0; k < points; k++)
+                histogram[k] += other[k];
+            return histogram;
+        }
+    }
+}
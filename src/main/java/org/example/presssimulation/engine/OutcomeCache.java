@@ -0,0 +1,206 @@
+package org.example.presssimulation.engine;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Кэш итогов прогона по параметрам образца и пресса, ограниченный по числу записей (LRU).
+// Записи разложены по сегментам со своей блокировкой, чтобы параллельный перебор не упирался в один замок;
+// сам прогон при промахе идёт вне блокировки.
+public class OutcomeCache {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int SEGMENTS = 16;
+    private static final int MAGIC = 0x5052434F; // "PRCO"
+    // меняется вместе с расчётом: итоги из файла другой версии могли быть посчитаны иначе
+    // 2 - событийный режим ставит события на границе шага на тот же шаг, что и пошаговый
+    // 3 - событийный режим останавливается на пределе времени (раньше ключ хранил для него 0)
+    private static final int VERSION = 3;
+
+    // Всё, от чего зависит итог. -0.0 приводится к 0.0
+    public record Key(double strengthMPa, double specimenArea, boolean fragile, double pistonArea,
+                      double maxPressure, double pressureIncrement, double timeStep, double maxTime, boolean eventDriven) {
+        public Key {
+            strengthMPa += 0.0;
+            specimenArea += 0.0;
+            pistonArea += 0.0;
+            maxPressure += 0.0;
+            pressureIncrement += 0.0;
+            timeStep += 0.0;
+            maxTime += 0.0;
+        }
+
+        public PressOutcome simulate() {
+            PressEngine engine = new PressEngine(new SpecimenState("", strengthMPa, fragile, specimenArea),
+                pistonArea, maxPressure, pressureIncrement);
+            return eventDriven ? engine.runEventDriven(timeStep, maxTime) : engine.runToCompletion(timeStep, maxTime);
+        }
+    }
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public OutcomeCache(int capacity) {
+        int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++)
+            segments[i] = new Segment(perSegment);
+    }
+
+    public PressOutcome get(Key key) {
+        Segment segment = segmentFor(key);
+        PressOutcome outcome;
+        synchronized (segment) {
+            outcome = segment.get(key);
+        }
+        (outcome != null ? hits : misses).increment();
+        return outcome;
+    }
+
+    public void put(Key key, PressOutcome outcome) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, outcome);
+        }
+    }
+
+    // Два потока с одним ключом могут посчитать его оба - итог детерминирован, поэтому это только лишняя работа
+    public PressOutcome computeIfAbsent(Key key, Function<Key, PressOutcome> simulation) {
+        PressOutcome outcome = get(key);
+        if (outcome == null) {
+            outcome = simulation.apply(key);
+            put(key, outcome);
+        }
+        return outcome;
+    }
+
+    public PressOutcome outcome(Key key) {
+        return computeIfAbsent(key, Key::simulate);
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public String stats() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return String.format("записей %d, попаданий %d из %d (%.1f%%), вытеснено %d",
+            size(), hits, total, total == 0 ? 0.0 : 100.0 * hits / total, getEvictions());
+    }
+
+    private Segment segmentFor(Key key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    // Загрузка сохранённого кэша; нет файла или он испорчен - начинаем с пустого
+    public static OutcomeCache load(String fileName, int capacity) {
+        OutcomeCache cache = new OutcomeCache(capacity);
+        Path file = Path.of(fileName);
+        if (!Files.exists(file))
+            return cache;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                System.err.println("Файл не является кэшем итогов: " + fileName);
+                return cache;
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                System.err.println("Кэш итогов " + fileName + " версии " + version + " посчитан прежним расчётом, начинаем с пустого");
+                return cache;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Key key = new Key(in.readDouble(), in.readDouble(), in.readBoolean(), in.readDouble(),
+                    in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble(), in.readBoolean());
+                PressOutcome outcome = new PressOutcome(in.readBoolean(), in.readDouble(), in.readDouble(),
+                    in.readDouble(), in.readDouble());
+                cache.put(key, outcome);
+            }
+        } catch (IOException e) {
+            System.err.println("Ошибка чтения кэша итогов: " + e.getMessage());
+            return new OutcomeCache(capacity);
+        }
+        return cache;
+    }
+
+    // Записи каждого сегмента идут от давно использованных к свежим, после загрузки порядок вытеснения тот же
+    public void save(String fileName) throws IOException {
+        List<Map.Entry<Key, PressOutcome>> entries = new ArrayList<>();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (Map.Entry<Key, PressOutcome> entry : segment.entrySet())
+                    entries.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        Path target = Path.of(fileName).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<Key, PressOutcome> entry : entries) {
+                    Key key = entry.getKey();
+                    out.writeDouble(key.strengthMPa());
+                    out.writeDouble(key.specimenArea());
+                    out.writeBoolean(key.fragile());
+                    out.writeDouble(key.pistonArea());
+                    out.writeDouble(key.maxPressure());
+                    out.writeDouble(key.pressureIncrement());
+                    out.writeDouble(key.timeStep());
+                    out.writeDouble(key.maxTime());
+                    out.writeBoolean(key.eventDriven());
+
+                    PressOutcome outcome = entry.getValue();
+                    out.writeBoolean(outcome.broken());
+                    out.writeDouble(outcome.contactTime());
+                    out.writeDouble(outcome.failureTime());
+                    out.writeDouble(outcome.pressure());
+                    out.writeDouble(outcome.force());
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private class Segment extends LinkedHashMap<Key, PressOutcome> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, PressOutcome> eldest) {
+            if (size() <= capacity)
+                return false;
+            evictions.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.presssimulation.engine;
+
+public class PistonState {
+    public static final double MAX_EXTENSION = 210;
+    public static final double PRESS_WIDTH = 60;
+    public static final double PRESS_OFFSET = 10;
+
+    private final double maxExtension;
+    private double area; // площадь поршня в м²
+    private double extension = 0;
+    private double previousExtension = 0; // положение до последнего шага движка, для интерполяции
+    private double force = 0;
+
+    public PistonState(double area) {
+        this(area, MAX_EXTENSION);
+    }
+    public PistonState(double area, double maxExtension) {
+        this.area = area;
+        this.maxExtension = maxExtension;
+    }
+
+    public void extend(double amount) {
+        if (extension == maxExtension)
+            return;
+
+        if (extension + amount > maxExtension)
+            amount = maxExtension - extension;
+
+        extension += amount;
+    }
+    public void retract(double amount) {
+        if (extension == 0)
+            return;
+
+        extension -= extension - amount >= 0 ? amount : extension;
+    }
+    public void reset() {
+        extension = 0;
+        previousExtension = 0;
+        force = 0;
+    }
+
+    public void setHydraulicPressure(double pressure) {
+        this.force = pressure * area; // F = P × A
+    }
+
+    public double getTotalWidth() {
+        return extension + PRESS_WIDTH + PRESS_OFFSET;
+    }
+    public void savePrevious() {
+        previousExtension = extension;
+    }
+    public double getInterpolatedExtension(double alpha) {
+        return previousExtension + (extension - previousExtension) * alpha;
+    }
+
+    public double getExtension() { return extension; }
+    public double getMaxExtension() { return maxExtension; }
+    public double getForce() { return force; }
+    public double getArea() { return area; }
+    public void setArea(double area) { this.area = area; }
+}
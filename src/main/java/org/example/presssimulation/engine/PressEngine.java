@@ -0,0 +1,395 @@
+package org.example.presssimulation.engine;
+
+import java.util.function.DoublePredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.ToDoubleFunction;
+
+// Физика пресса без JavaFX: поршень, образец и гидравлика, один шаг - step(dt)
+public class PressEngine {
+    public static final double AUTO_SPEED = 100; // скорость подачи поршня в авто режиме, ед/с
+    public static final double DEFAULT_GAP = PistonState.MAX_EXTENSION + PistonState.PRESS_WIDTH + PistonState.PRESS_OFFSET;
+
+    private final PistonState piston;
+    private final HydraulicState hydraulics;
+    private final double specimenGap; // расстояние от основания поршня до левого края образца
+    private SpecimenState specimen;
+    private PressListener listener = PressListener.NONE;
+
+    private boolean isPressing = false;
+    private boolean isAutoMode = false;
+    private double time = 0;
+    private double failureTime = Double.NaN;
+
+    public PressEngine(PistonState piston, HydraulicState hydraulics, SpecimenState specimen, double specimenGap) {
+        this.piston = piston;
+        this.hydraulics = hydraulics;
+        this.specimen = specimen;
+        this.specimenGap = specimenGap;
+    }
+    public PressEngine(SpecimenState specimen, double pistonArea, double maxPressure, double pressureIncrement) {
+        this(new PistonState(pistonArea), new HydraulicState(maxPressure, pressureIncrement), specimen, DEFAULT_GAP);
+    }
+
+    public void step(double elapsedSeconds) {
+        piston.savePrevious();
+
+        // зажатый пакет слоёв дальше поршень не пускает; одиночный образец подачу не останавливает
+        if (isAutoMode && !specimen.isBroken() && !(isPressing && specimen.isLayered())) {
+            piston.extend(AUTO_SPEED * elapsedSeconds);
+
+            if (isContact() && !isPressing)
+                startPressing();
+        }
+
+        if (isPressing && !specimen.isBroken()) {
+            hydraulics.ramp(elapsedSeconds);
+            piston.setHydraulicPressure(hydraulics.getPressure());
+
+            listener.onForceApplied();
+            if (specimen.applyForce(piston.getForce())) {
+                failureTime = time + elapsedSeconds;
+                listener.onFailure();
+
+                // смятый слой пакета открыл зазор: нагрузки нет, пока поршень его не выберет
+                if (!specimen.isBroken() && !isContact())
+                    releaseLoad();
+            }
+        }
+
+        time += elapsedSeconds;
+    }
+
+    // Прогон в авто режиме до разрушения образца или до выхода давления на максимум
+    public PressOutcome runToCompletion(double dt, double maxTime) {
+        // при dt <= 0 время не идёт и цикл не кончится
+        if (!(dt > 0) || Double.isInfinite(dt))
+            throw new IllegalArgumentException("Шаг должен быть положительным: " + dt);
+        if (Double.isNaN(maxTime))
+            throw new IllegalArgumentException("Недопустимый предел времени: " + maxTime);
+
+        reset();
+        setAutoMode(true);
+
+        double contactTime = Double.NaN;
+        while (time < maxTime) {
+            boolean wasPressing = isPressing;
+            step(dt);
+
+            if (!wasPressing && isPressing && Double.isNaN(contactTime))
+                contactTime = time;
+
+            if (specimen.isBroken())
+                return new PressOutcome(true, contactTime, time, getPressure(), getForce());
+
+            // дальше сила расти не будет
+            if (isPressing && hydraulics.isFinished())
+                break;
+            if (!isPressing && piston.getExtension() == piston.getMaxExtension())
+                break;
+        }
+        return new PressOutcome(false, contactTime, Double.NaN, getPressure(), getForce());
+    }
+
+    // Событийный режим для авто прогона: при линейном росте давления и F = P × A моменты контакта,
+    // разрушения и выхода на максимум считаются в закрытом виде, и движок сразу прыгает в конечное состояние.
+    // dt > 0 ставит события на те же шаги, что и runToCompletion(dt, maxTime) (см. firstStep); dt = 0 даёт точные моменты.
+    // Событие позже maxTime не наступает: прогон останавливается там же, где пошаговый, с давлением на этот момент.
+    // Образец без точного порога (пластичная текучесть по элементам) прогоняется по шагам.
+    public PressOutcome runEventDriven(double dt) {
+        return runEventDriven(dt, Double.POSITIVE_INFINITY);
+    }
+    public PressOutcome runEventDriven(double dt, double maxTime) {
+        if (Double.isNaN(dt) || Double.isInfinite(dt))
+            throw new IllegalArgumentException("Шаг должен быть конечным: " + dt);
+        if (Double.isNaN(maxTime))
+            throw new IllegalArgumentException("Недопустимый предел времени: " + maxTime);
+        if (!specimen.isThresholdExact() && (hydraulics.getProfile() != null || hydraulics.getPressureIncrement() > 0))
+            return runToCompletion(dt > 0 ? dt : FixedStepIntegrator.DEFAULT_STEP, maxTime);
+
+        reset();
+        setAutoMode(true);
+        if (!(maxTime > 0))
+            return new PressOutcome(false, Double.NaN, Double.NaN, 0, 0); // пошаговый прогон не сделал бы ни шага
+
+        // Последний шаг пошагового прогона - первый, после которого накопленное время >= maxTime.
+        // После 2^53 шагов сложение время уже не двигает, такой предел не наступает
+        long limit = dt > 0 && maxTime / dt < 0x1p53
+            ? firstStep(maxTime / dt, dt, t -> t >= maxTime, replayTime(dt), Long.MAX_VALUE) : Long.MAX_VALUE;
+        double limitTime = dt == 0 ? maxTime : limit == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : limit * dt;
+
+        // Событие 1: контакт. Давление начинает расти в том же шаге. Проверки те же, что в step: по getTotalWidth()
+        double maxExtension = piston.getMaxExtension();
+        double stroke = AUTO_SPEED * dt;
+        DoublePredicate touches = extension -> Math.min(extension, maxExtension) + PistonState.PRESS_WIDTH + PistonState.PRESS_OFFSET
+            - specimenGap >= 0;
+        double contactExtension = specimenGap - PistonState.PRESS_WIDTH - PistonState.PRESS_OFFSET;
+        if (!touches.test(maxExtension)) {
+            // поршень не достаёт до образца
+            time = Math.min(dt > 0
+                ? firstStep(maxExtension / stroke, stroke, extension -> extension >= maxExtension, replayExtension(dt), limit) * dt
+                : maxExtension / AUTO_SPEED, limitTime);
+            piston.extend(time * AUTO_SPEED);
+            return new PressOutcome(false, Double.NaN, Double.NaN, 0, 0);
+        }
+
+        long contactStep = dt > 0 ? firstStep(contactExtension / stroke, stroke, touches, replayExtension(dt),
+            limit == Long.MAX_VALUE ? limit : limit + 1) : 0;
+        double contactTime = dt > 0 ? contactStep * dt : Math.max(contactExtension, 0) / AUTO_SPEED;
+        if (dt > 0 ? contactStep > limit : contactTime > maxTime) {
+            // время кончилось раньше, чем поршень дошёл до образца
+            time = limitTime;
+            piston.extend(time * AUTO_SPEED);
+            return new PressOutcome(false, Double.NaN, Double.NaN, 0, 0);
+        }
+        piston.extend(Math.max(contactExtension, 0));
+        isPressing = true;
+
+        // шагов с нажатием до предела, считая шаг контакта
+        long pressingSteps = limit == Long.MAX_VALUE ? Long.MAX_VALUE : limit - contactStep + 1;
+        double increment = hydraulics.getPressureIncrement();
+        double maxPressure = hydraulics.getMaxPressure();
+        double failurePressure = specimen.getDestructionForce() / piston.getArea(); // P = σ × A(образца) / A(поршня)
+
+        if (hydraulics.getProfile() != null)
+            return finishProgram(hydraulics.getProfile(), contactTime, failurePressure, dt, pressingSteps, maxTime);
+
+        if (increment <= 0) {
+            // давление не растёт: пошаговый прогон доходит до предела времени
+            time = Double.isInfinite(limitTime) ? contactTime : limitTime;
+            return new PressOutcome(false, contactTime, Double.NaN, 0, 0);
+        }
+
+        // Событие 2: разрушение, если до него давление не упрётся в максимум, иначе событие 3: выход на максимум
+        boolean breaks = failurePressure <= maxPressure;
+        double eventPressure = breaks ? failurePressure : maxPressure;
+        double rampTime = eventPressure / increment;
+        double pressure = eventPressure;
+
+        if (dt > 0) {
+            // шаг контакта уже добавил давление; сила сравнивается так же, как в SpecimenState.applyForce
+            double stepPressure = increment * dt;
+            DoublePredicate fails = p -> Math.min(p, maxPressure) * piston.getArea() >= specimen.getDestructionForce();
+            LongToDoubleFunction replay = replayHydraulics(dt, HydraulicState::getPressure);
+            long steps = firstStep(eventPressure / stepPressure, stepPressure, p -> fails.test(p) || p >= maxPressure, replay,
+                pressingSteps);
+            pressure = Math.min(accumulated(steps, stepPressure, fails, replay), maxPressure);
+            breaks = fails.test(pressure);
+            rampTime = (steps - 1) * dt;
+        } else if (rampTime > maxTime - contactTime) {
+            rampTime = maxTime - contactTime;
+            pressure = increment * rampTime;
+            breaks = false;
+        }
+
+        time = contactTime + rampTime;
+        hydraulics.setPressure(pressure);
+        piston.setHydraulicPressure(pressure);
+        specimen.applyForce(piston.getForce());
+        if (breaks)
+            failureTime = time;
+
+        return new PressOutcome(breaks, contactTime, breaks ? time : Double.NaN, pressure, piston.getForce());
+    }
+    // То же для программы давления: момент разрушения - первое достижение давления разрушения (по prefixMax),
+    // иначе прогон заканчивается вместе с программой или на пределе времени
+    private PressOutcome finishProgram(PressureProfile profile, double contactTime, double failurePressure, double dt,
+                                       long pressingSteps, double maxTime) {
+        double maxPressure = hydraulics.getMaxPressure();
+        double reach = failurePressure <= maxPressure ? profile.timeToReach(failurePressure) : Double.NaN;
+        boolean breaks = !Double.isNaN(reach);
+        double elapsed = breaks ? reach : profile.duration();
+        double pressure;
+
+        if (dt > 0) {
+            // шаг контакта - первый шаг нажатия; на сетке давление может проскочить узкий пик, тогда firstStep ищет дальше,
+            // но не дальше конца программы
+            DoublePredicate fails = t -> Math.min(profile.pressureAt(t), maxPressure) * piston.getArea()
+                >= specimen.getDestructionForce();
+            LongToDoubleFunction replay = replayHydraulics(dt, HydraulicState::getElapsed);
+            long steps = firstStep(elapsed / dt, dt, t -> fails.test(t) || t >= profile.duration(), replay, pressingSteps);
+            elapsed = accumulated(steps, dt, fails, replay);
+            pressure = Math.min(profile.pressureAt(elapsed), maxPressure);
+            breaks = fails.test(elapsed);
+            time = contactTime + (steps - 1) * dt;
+        } else {
+            if (elapsed > maxTime - contactTime) {
+                elapsed = maxTime - contactTime;
+                breaks = false;
+            }
+            pressure = breaks ? failurePressure : Math.min(profile.pressureAt(elapsed), maxPressure);
+            time = contactTime + elapsed;
+        }
+
+        hydraulics.setPressure(pressure);
+        piston.setHydraulicPressure(pressure);
+        specimen.applyForce(piston.getForce());
+        if (breaks)
+            failureTime = time;
+
+        return new PressOutcome(breaks, contactTime, breaks ? time : Double.NaN, pressure, piston.getForce());
+    }
+
+    // Первый шаг k >= 1 пошагового прогона, на котором reached(значение после k шагов) истинно, но не дальше limit.
+    // estimate - момент события в шагах по закрытой форме; он верен до нескольких ulp, поэтому поиск - шаг-два от него.
+    // Вниз идём только по произведению, до шага, где событие заведомо не наступило, дальше вверх: так повторы
+    // сложений запрашиваются по возрастанию k и Replay продолжает с места, а не с нуля (на 10^8 шагов полоса неточности -
+    // десятки шагов)
+    private static long firstStep(double estimate, double increment, DoublePredicate reached, LongToDoubleFunction replay,
+                                  long limit) {
+        if (!mayBeReached(limit, increment, reached))
+            return limit; // событие заведомо позже предела, до него не ищем
+        long steps = Math.max(1, (long) Math.ceil(Math.min(estimate, limit)));
+        while (steps > 1 && mayBeReached(steps - 1, increment, reached))
+            steps--;
+        while (steps < limit && !reached.test(accumulated(steps, increment, reached, replay)))
+            steps++;
+        return steps;
+    }
+    private static boolean mayBeReached(long steps, double increment, DoublePredicate reached) {
+        double value = steps * increment;
+        double slack = 2 * (steps + 1) * Math.ulp(value);
+        return reached.test(value - slack) || reached.test(value + slack);
+    }
+    // Значение после k шагов, как его видит пошаговый прогон. Там оно копится сложением, и k-я сумма отличается
+    // от k × increment не больше чем на k·ulp(k × increment) / 2. Если в этой полосе reached не меняет ответ,
+    // хватает произведения; иначе (событие ровно на границе шага) значение повторяется теми же сложениями
+    private static double accumulated(long steps, double increment, DoublePredicate reached, LongToDoubleFunction replay) {
+        double value = steps * increment;
+        double slack = 2 * (steps + 1) * Math.ulp(value);
+        if (reached.test(value - slack) == reached.test(value + slack))
+            return value;
+        return replay.applyAsDouble(steps);
+    }
+    // Повтор сложений step() на отдельных поршне и гидравлике, чтобы не трогать состояние движка.
+    // Запрос следующего k продолжает с прошлого, запрос меньшего начинает заново
+    private abstract static class Replay implements LongToDoubleFunction {
+        private long steps = -1;
+        private double value;
+
+        abstract void restart();
+        abstract double advance();
+
+        @Override
+        public double applyAsDouble(long k) {
+            if (steps < 0 || k < steps) {
+                restart();
+                steps = 0;
+            }
+            for (; steps < k; steps++)
+                value = advance();
+            return value;
+        }
+    }
+    private static Replay replayTime(double dt) {
+        return new Replay() {
+            private double time;
+
+            @Override void restart() { time = 0; }
+            @Override double advance() { return time += dt; }
+        };
+    }
+    private Replay replayExtension(double dt) {
+        double stroke = AUTO_SPEED * dt;
+        return new Replay() {
+            private PistonState probe;
+
+            @Override void restart() { probe = new PistonState(piston.getArea(), piston.getMaxExtension()); }
+            @Override double advance() {
+                probe.extend(stroke);
+                return probe.getExtension();
+            }
+        };
+    }
+    private Replay replayHydraulics(double dt, ToDoubleFunction<HydraulicState> value) {
+        return new Replay() {
+            private HydraulicState probe;
+
+            @Override void restart() {
+                probe = new HydraulicState(hydraulics.getMaxPressure(), hydraulics.getPressureIncrement());
+                probe.setProfile(hydraulics.getProfile());
+            }
+            @Override double advance() {
+                probe.ramp(dt);
+                return value.applyAsDouble(probe);
+            }
+        };
+    }
+
+    // Ручное управление поршнем
+    public void extend(double amount) {
+        piston.extend(amount);
+        piston.savePrevious();
+        handleNeedOfPressing();
+    }
+    public void retract(double amount) {
+        piston.retract(amount);
+        piston.savePrevious();
+        handleNeedOfPressing();
+    }
+    private void handleNeedOfPressing() {
+        if (specimen.isBroken())
+            return;
+
+        boolean isContact = isContact();
+
+        if (isContact && !isPressing) {
+            startPressing();
+        } else if (!isContact) {
+            // пакет только разгружается: сброс вернул бы смятые слои
+            if (!specimen.isLayered())
+                stopPressing();
+            else if (isPressing)
+                releaseLoad();
+        }
+    }
+
+    public boolean isContact() {
+        return specimen.pushTo(piston.getTotalWidth() - specimenGap);
+    }
+
+    private void startPressing() {
+        isPressing = true;
+        hydraulics.reset();
+        piston.setHydraulicPressure(0);
+        listener.onPressingStarted();
+    }
+    private void releaseLoad() {
+        isPressing = false;
+        hydraulics.reset();
+        piston.setHydraulicPressure(0);
+        listener.onPressingStopped();
+    }
+    private void stopPressing() {
+        isPressing = false;
+        specimen.reset();
+        listener.onPressingStopped();
+    }
+
+    public void reset() {
+        specimen.reset();
+        piston.reset();
+        hydraulics.reset();
+        isPressing = false;
+        time = 0;
+        failureTime = Double.NaN;
+    }
+
+    public void setSpecimen(SpecimenState specimen) {
+        this.specimen = specimen;
+    }
+    public void setListener(PressListener listener) {
+        this.listener = listener == null ? PressListener.NONE : listener;
+    }
+    public void setAutoMode(boolean autoMode) { this.isAutoMode = autoMode; }
+
+    public PistonState getPiston() { return piston; }
+    public HydraulicState getHydraulics() { return hydraulics; }
+    public SpecimenState getSpecimen() { return specimen; }
+    public double getSpecimenGap() { return specimenGap; }
+    public double getPressure() { return hydraulics.getPressure(); }
+    public double getForce() { return piston.getForce(); }
+    public double getTime() { return time; }
+    public double getFailureTime() { return failureTime; }
+    public boolean isPressing() { return isPressing; }
+    public boolean isAutoMode() { return isAutoMode; }
+}
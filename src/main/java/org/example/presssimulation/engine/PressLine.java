@@ -0,0 +1,136 @@
+package org.example.presssimulation.engine;
+
+// Линия из N независимых прессов в авто режиме.
+// Состояние станций хранится в примитивных массивах и обновляется одним циклом, без объекта на станцию.
+// Логика шага та же, что у PressEngine.step в авто режиме.
+public class PressLine {
+    private final int size;
+    private final double specimenGap;
+    private final double maxExtension;
+
+    // параметры станции
+    private final String[] names;
+    private final double[] destructionForce; // Н
+    private final double[] contactArea; // площадь поршня, м²
+    private final double[] maxPressure; // Па
+    private final double[] pressureIncrement; // Па/с
+    private final PressureProfile[] profile; // программа давления станции, null - линейный рост
+
+    // состояние станции
+    private final double[] extension;
+    private final double[] pressure;
+    private final double[] force;
+    private final boolean[] pressing;
+    private final boolean[] broken;
+    private final double[] elapsed; // время с начала нажатия
+
+    public PressLine(int size) {
+        this(size, PressEngine.DEFAULT_GAP, PistonState.MAX_EXTENSION);
+    }
+    public PressLine(int size, double specimenGap, double maxExtension) {
+        this.size = size;
+        this.specimenGap = specimenGap;
+        this.maxExtension = maxExtension;
+
+        names = new String[size];
+        destructionForce = new double[size];
+        contactArea = new double[size];
+        maxPressure = new double[size];
+        pressureIncrement = new double[size];
+        profile = new PressureProfile[size];
+
+        extension = new double[size];
+        pressure = new double[size];
+        force = new double[size];
+        pressing = new boolean[size];
+        broken = new boolean[size];
+        elapsed = new double[size];
+    }
+
+    // Загрузка нового образца на станцию, станция возвращается в исходное положение
+    public void load(int station, SpecimenState specimen, double contactArea, double maxPressure, double pressureIncrement) {
+        load(station, specimen, contactArea, maxPressure, pressureIncrement, null);
+    }
+    // Скомпилированная программа неизменяема, одну и ту же можно отдать всем станциям
+    public void load(int station, SpecimenState specimen, double contactArea, double maxPressure, double pressureIncrement,
+                     PressureProfile profile) {
+        this.profile[station] = profile;
+        names[station] = specimen.getName();
+        destructionForce[station] = specimen.getDestructionForce();
+        this.contactArea[station] = contactArea;
+        this.maxPressure[station] = maxPressure;
+        this.pressureIncrement[station] = pressureIncrement;
+        reset(station);
+    }
+    public void reset(int station) {
+        extension[station] = 0;
+        pressure[station] = 0;
+        force[station] = 0;
+        pressing[station] = false;
+        broken[station] = false;
+        elapsed[station] = 0;
+    }
+
+    public void setExtension(int station, double value) {
+        extension[station] = Math.min(value, maxExtension);
+    }
+
+    public void step(double elapsedSeconds) {
+        double advance = PressEngine.AUTO_SPEED * elapsedSeconds;
+        double contactExtension = specimenGap - PistonState.PRESS_WIDTH - PistonState.PRESS_OFFSET;
+
+        for (int i = 0; i < size; i++) {
+            if (broken[i])
+                continue;
+
+            double ext = extension[i] + advance;
+            if (ext > maxExtension)
+                ext = maxExtension;
+            extension[i] = ext;
+
+            if (!pressing[i]) {
+                if (ext < contactExtension)
+                    continue;
+
+                pressing[i] = true;
+                pressure[i] = 0;
+            }
+
+            double p;
+            PressureProfile program = profile[i];
+            if (program != null) {
+                double t = elapsed[i] + elapsedSeconds;
+                elapsed[i] = t;
+                p = program.pressureAt(t);
+            } else {
+                p = pressure[i] + pressureIncrement[i] * elapsedSeconds;
+            }
+            if (p > maxPressure[i])
+                p = maxPressure[i];
+            pressure[i] = p;
+
+            double f = p * contactArea[i]; // F = P × A
+            force[i] = f;
+
+            if (f >= destructionForce[i]) // F >= σ × A
+                broken[i] = true;
+        }
+    }
+
+    // Станция закончила: образец разрушен или давление упёрлось в максимум
+    public boolean isFinished(int station) {
+        if (broken[station] || !pressing[station])
+            return broken[station];
+        PressureProfile program = profile[station];
+        return program != null ? elapsed[station] >= program.duration() : pressure[station] >= maxPressure[station];
+    }
+
+    public int size() { return size; }
+    public String getName(int station) { return names[station]; }
+    public double getExtension(int station) { return extension[station]; }
+    public double getPressure(int station) { return pressure[station]; }
+    public double getForce(int station) { return force[station]; }
+    public double getForceRatio(int station) { return force[station] / destructionForce[station]; }
+    public boolean isPressing(int station) { return pressing[station]; }
+    public boolean isBroken(int station) { return broken[station]; }
+}
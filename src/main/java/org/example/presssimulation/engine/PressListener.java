@@ -0,0 +1,10 @@
+package org.example.presssimulation.engine;
+
+public interface PressListener {
+    PressListener NONE = new PressListener() {};
+
+    default void onPressingStarted() {}
+    default void onPressingStopped() {}
+    default void onFailure() {}
+    default void onForceApplied() {} // на каждом шаге с нажатием, до проверки разрушения
+}
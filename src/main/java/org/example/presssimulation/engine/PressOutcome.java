@@ -0,0 +1,5 @@
+package org.example.presssimulation.engine;
+
+// Итог прогона: время контакта и разрушения (с начала прогона, с), давление (Па) и сила (Н) в момент разрушения или в конце
+public record PressOutcome(boolean broken, double contactTime, double failureTime, double pressure, double force) {
+}
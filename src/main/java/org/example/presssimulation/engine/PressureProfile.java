@@ -0,0 +1,67 @@
+package org.example.presssimulation.engine;
+
+// Скомпилированная программа давления: значения на равномерной сетке и линейная интерполяция между ними.
+// pressureAt - O(1) без выделения памяти, для тика каждой станции.
+// Максимум с начала программы по узлам сетки (prefixMax) неубывающий, по нему бинарным поиском находится
+// первый момент, когда давление достигает уровня, - это нужно событийному решателю.
+public final class PressureProfile {
+    private final double[] table; // Па
+    private final double[] prefixMax;
+    private final double step;
+    private final double inverseStep;
+    private final double duration;
+    private final int last;
+
+    PressureProfile(double[] table, double step, double duration) {
+        this.table = table;
+        this.step = step;
+        this.inverseStep = 1 / step;
+        this.duration = duration;
+        this.last = table.length - 1;
+
+        prefixMax = new double[table.length];
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < table.length; i++) {
+            max = Math.max(max, table[i]);
+            prefixMax[i] = max;
+        }
+    }
+
+    // t - время с начала нажатия; после конца программы давление остаётся последним
+    public double pressureAt(double t) {
+        if (t <= 0)
+            return table[0];
+
+        double x = t * inverseStep;
+        int i = (int) x;
+        if (i >= last)
+            return table[last];
+
+        double low = table[i];
+        return low + (table[i + 1] - low) * (x - i);
+    }
+
+    // Первый момент, когда давление не меньше level; NaN, если программа до него не доходит.
+    // Между узлами давление линейно, поэтому максимум на отрезке всегда в узле и prefixMax точен.
+    public double timeToReach(double level) {
+        if (table[0] >= level)
+            return 0;
+        if (prefixMax[last] < level)
+            return Double.NaN;
+
+        int low = 1, high = last;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefixMax[mid] < level) low = mid + 1;
+            else high = mid;
+        }
+        // table[low - 1] < level <= table[low]
+        double before = table[low - 1];
+        return (low - 1 + (level - before) / (table[low] - before)) * step;
+    }
+
+    public double maxPressure() { return prefixMax[last]; }
+    public double duration() { return duration; }
+    public double step() { return step; }
+    public int size() { return table.length; }
+}
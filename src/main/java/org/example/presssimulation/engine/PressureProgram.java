@@ -0,0 +1,110 @@
+package org.example.presssimulation.engine;
+
+import java.util.List;
+
+// Программа давления из settings.yaml: участки идут друг за другом от момента контакта, давление в Па, время в с.
+// Каждый участок начинается с давления, на котором закончился предыдущий. Для тика программа компилируется в PressureProfile.
+public record PressureProgram(List<Segment> segments, double resolution) {
+    public static final double DEFAULT_RESOLUTION = 0.001;
+    private static final int MAX_POINTS = 1 << 20; // 8 МБ на таблицу; длинные программы получают более грубый шаг
+
+    public PressureProgram {
+        segments = List.copyOf(segments);
+    }
+
+    public sealed interface Segment permits Ramp, Hold, Step, Sine, Samples {
+        double seconds();
+    }
+    // линейно до давления to за seconds
+    public record Ramp(double to, double seconds) implements Segment {}
+    // удержание текущего давления
+    public record Hold(double seconds) implements Segment {}
+    // мгновенный скачок
+    public record Step(double to) implements Segment {
+        public double seconds() { return 0; }
+    }
+    // колебания вокруг текущего давления, после участка давление возвращается к нему
+    public record Sine(double amplitude, double period, double seconds) implements Segment {}
+    // произвольная кривая по точкам (время от начала участка), между точками линейно
+    public record Samples(List<Double> times, List<Double> pressures) implements Segment {
+        public Samples {
+            times = List.copyOf(times);
+            pressures = List.copyOf(pressures);
+            if (times.isEmpty() || times.size() != pressures.size())
+                throw new IllegalArgumentException("Число моментов и давлений в samples должно совпадать");
+            for (int i = 1; i < times.size(); i++) {
+                if (times.get(i) < times.get(i - 1))
+                    throw new IllegalArgumentException("Моменты в samples должны идти по возрастанию");
+            }
+        }
+        public double seconds() { return times.get(times.size() - 1); }
+    }
+
+    public double duration() {
+        double duration = 0;
+        for (Segment segment : segments)
+            duration += segment.seconds();
+        return duration;
+    }
+
+    // Плотная таблица с равным шагом: участки проходятся один раз, каждая точка считается в своём участке
+    public PressureProfile compile() {
+        double duration = duration();
+        double step = Math.max(resolution > 0 ? resolution : DEFAULT_RESOLUTION, duration / (MAX_POINTS - 1));
+        int points = (int) Math.ceil(duration / step) + 1;
+        double[] table = new double[points];
+
+        double level = 0;
+        double start = 0;
+        int i = 0;
+        for (Segment segment : segments) {
+            double end = start + segment.seconds();
+            for (; i < points && i * step < end; i++)
+                table[i] = Math.max(0, valueAt(segment, level, i * step - start));
+            level = endLevel(segment, level);
+            start = end;
+        }
+        for (; i < points; i++)
+            table[i] = Math.max(0, level);
+
+        return new PressureProfile(table, step, duration);
+    }
+
+    private static double valueAt(Segment segment, double level, double t) {
+        return switch (segment) {
+            case Ramp ramp -> level + (ramp.to() - level) * t / ramp.seconds();
+            case Hold hold -> level;
+            case Step step -> step.to();
+            case Sine sine -> level + sine.amplitude() * Math.sin(2 * Math.PI * t / sine.period());
+            case Samples samples -> interpolate(samples, level, t);
+        };
+    }
+    private static double endLevel(Segment segment, double level) {
+        return switch (segment) {
+            case Ramp ramp -> ramp.to();
+            case Hold hold -> level;
+            case Step step -> step.to();
+            case Sine sine -> level;
+            case Samples samples -> samples.pressures().get(samples.pressures().size() - 1);
+        };
+    }
+    // до первой точки давление идёт линейно от уровня начала участка
+    private static double interpolate(Samples samples, double level, double t) {
+        List<Double> times = samples.times();
+        List<Double> pressures = samples.pressures();
+
+        int low = 0, high = times.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times.get(mid) <= t) low = mid + 1;
+            else high = mid;
+        }
+        if (low == times.size())
+            return pressures.get(low - 1);
+
+        double t0 = low == 0 ? 0 : times.get(low - 1);
+        double p0 = low == 0 ? level : pressures.get(low - 1);
+        double t1 = times.get(low);
+        return p0 + (pressures.get(low) - p0) * (t - t0) / (t1 - t0);
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.presssimulation.engine;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Пакет образцов в трубе друг за другом (слоистый образец). Слои лежат по оси от поршня к опоре, между ними
+// могут быть зазоры. Поршень толкает передние слои, пока не закроются все зазоры; после этого через все слои
+// идёт одна и та же сила, и первым разрушается самый слабый слой. Разрушенный слой сминается, перед ним
+// открывается зазор, и пакет теряет нагрузку, пока поршень этот зазор не выберет.
+//
+// Координата - ход поршня за исходную переднюю грань пакета. Слой i поршень начинает толкать при ходе
+// s(i) = положение слоя минус толщины слоёв перед ним; s(i) не убывает, а разности s(i) - s(i-1) - это зазоры.
+// Зазоры лежат в дереве Фенвика: выбрать зазоры под поршнем и открыть зазор смятием - точечные изменения,
+// число толкаемых слоёв - поиск по префиксной сумме. Самый слабый целый слой - курсор по слоям,
+// отсортированным по разрушающей силе. Шаг с сотнями слоёв стоит O(log n) без перебора пар.
+public class SpecimenStack extends SpecimenState {
+    private static final double FRAGILE_RESIDUAL = 0.25; // доля толщины хрупкого слоя, остающаяся после разрушения
+    private static final double DUCTILE_RESIDUAL = 0.6;
+    private static final double CONTACT_EPSILON = 1e-9; // запас на погрешность сумм в дереве
+
+    private final SpecimenState[] layers;
+    private final double[] initialThickness;
+    private final double[] initialGaps; // n + 1 зазоров: перед каждым слоем и между последним слоем и опорой
+    private final FenwickTree gaps;
+    private final FenwickTree thickness;
+    private final int[] order; // слои с точным порогом по возрастанию разрушающей силы
+    private final int[] gradual; // слои без точного порога: им сила передаётся на каждом шаге
+
+    private int cursor = 0; // order[cursor] - самый слабый целый слой с точным порогом
+    private int brokenCount = 0;
+    private int contactCount = 0; // слоёв под поршнем (движутся вместе с ним)
+    private int lastBroken = -1;
+    private double currentForce = 0;
+
+    // gaps[0] - от исходного положения поршня до первого слоя, gaps[i] - перед слоем i, gaps[n] - до опоры
+    public SpecimenStack(List<SpecimenState> layers, double[] thickness, double[] gaps) {
+        super("Пакет из " + layers.size() + " слоёв", weakestStrengthMPa(layers),
+            layers.stream().allMatch(SpecimenState::isFragile), layers.get(0).getContactArea());
+
+        int n = layers.size();
+        if (thickness.length != n || gaps.length != n + 1)
+            throw new IllegalArgumentException("Нужно " + n + " толщин и " + (n + 1) + " зазоров");
+        for (double value : thickness)
+            if (!(value > 0))
+                throw new IllegalArgumentException("Толщина слоя должна быть положительной");
+        for (double value : gaps)
+            if (!(value >= 0))
+                throw new IllegalArgumentException("Зазор не может быть отрицательным");
+
+        this.layers = layers.toArray(SpecimenState[]::new);
+        this.initialThickness = thickness.clone();
+        this.initialGaps = gaps.clone();
+        this.gaps = new FenwickTree(n + 1);
+        this.thickness = new FenwickTree(n);
+        this.gaps.assign(initialGaps);
+        this.thickness.assign(initialThickness);
+
+        this.order = IntStream.range(0, n)
+            .filter(i -> this.layers[i].isThresholdExact())
+            .boxed()
+            .sorted(Comparator.comparingDouble(i -> this.layers[i].getDestructionForce()))
+            .mapToInt(Integer::intValue)
+            .toArray();
+        this.gradual = IntStream.range(0, n).filter(i -> !this.layers[i].isThresholdExact()).toArray();
+    }
+
+    private static double weakestStrengthMPa(List<SpecimenState> layers) {
+        if (layers.isEmpty())
+            throw new IllegalArgumentException("Пакет без слоёв");
+        return layers.stream().mapToDouble(SpecimenState::getCompressiveStrength).min().orElseThrow() / 1_000_000;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        for (SpecimenState layer : layers)
+            layer.reset();
+        gaps.assign(initialGaps);
+        thickness.assign(initialThickness);
+        cursor = 0;
+        brokenCount = 0;
+        contactCount = 0;
+        lastBroken = -1;
+        currentForce = 0;
+    }
+
+    // Слои под поршнем сдвигаются вперёд и остаются там, куда их дотолкали (поршень назад их не тянет)
+    @Override
+    public boolean pushTo(double travel) {
+        double closing = gaps.total();
+        boolean closed = travel >= closing - CONTACT_EPSILON;
+        travel = Math.min(travel, closing);
+
+        int touched = gaps.firstAbove(travel); // слои 0..touched-1 под поршнем, индекс n - опора
+        contactCount = Math.min(touched, layers.length);
+        if (touched > 0 && gaps.get(0) < travel) {
+            // зазоры перед толкаемыми слоями выбраны, у следующего слоя зазор сократился на столько же
+            double remaining = touched < gaps.size() ? gaps.prefix(touched) - travel : 0;
+            for (int i = nextOpen(0); i < touched; i = nextOpen(i))
+                gaps.set(i, 0);
+            gaps.set(0, travel);
+            if (touched < gaps.size())
+                gaps.set(touched, Math.max(remaining, 0));
+        }
+
+        if (!closed)
+            currentForce = 0;
+        return closed;
+    }
+
+    // Следующий после index ненулевой зазор
+    private int nextOpen(int index) {
+        return Math.max(gaps.firstAbove(gaps.prefix(index)), index + 1);
+    }
+
+    // Сила одна на все слои. За вызов разрушается не больше одного слоя: после смятия нагрузка пропадает
+    @Override
+    public boolean applyForce(double force) {
+        if (isBroken())
+            return false;
+
+        currentForce = force;
+        int failed = -1;
+        for (int i : gradual) {
+            if (!layers[i].isBroken() && layers[i].applyForce(force)) {
+                failed = i;
+                break;
+            }
+        }
+
+        if (failed < 0) {
+            int weakest = weakestExact();
+            if (weakest >= 0 && force >= layers[weakest].getDestructionForce()) {
+                layers[weakest].applyForce(force);
+                failed = weakest;
+            }
+        }
+
+        if (failed < 0)
+            return false;
+        crush(failed);
+        return true;
+    }
+
+    private int weakestExact() {
+        while (cursor < order.length && layers[order[cursor]].isBroken())
+            cursor++;
+        return cursor < order.length ? order[cursor] : -1;
+    }
+
+    // Передняя грань слоя отходит к опоре, перед ним открывается зазор на смятую толщину
+    private void crush(int layer) {
+        double residual = layers[layer].isFragile() ? FRAGILE_RESIDUAL : DUCTILE_RESIDUAL;
+        double crushed = thickness.get(layer) * (1 - residual);
+        thickness.add(layer, -crushed);
+        gaps.add(layer, crushed);
+
+        brokenCount++;
+        lastBroken = layer;
+    }
+
+    @Override
+    public boolean isThresholdExact() {
+        return false;
+    }
+    @Override
+    public boolean isLayered() {
+        return true;
+    }
+
+    // Ближайшая к разрушению сила: самый слабый целый слой (слои без точного порога - по их собственной доле)
+    @Override
+    public double getDestructionForce() {
+        int weakest = weakestExact();
+        return weakest >= 0 ? layers[weakest].getDestructionForce() : Double.POSITIVE_INFINITY;
+    }
+    @Override
+    public double getForceRatio() {
+        double ratio = currentForce / getDestructionForce();
+        for (int i : gradual)
+            if (!layers[i].isBroken())
+                ratio = Math.max(ratio, layers[i].getForceRatio());
+        return ratio;
+    }
+    public double getLayerForceRatio(int layer) {
+        SpecimenState state = layers[layer];
+        return state.isThresholdExact() ? currentForce / state.getDestructionForce() : state.getForceRatio();
+    }
+
+    // Передняя грань слоя в координатах хода поршня
+    public double getLayerPosition(int layer) {
+        return gaps.prefix(layer) + thickness.prefix(layer - 1);
+    }
+    public double getLayerThickness(int layer) {
+        return thickness.get(layer);
+    }
+    // Опора не двигается: смятие только переносит толщину в зазор
+    public double getEndPosition() {
+        return gaps.total() + thickness.total();
+    }
+
+    public int size() { return layers.length; }
+    public SpecimenState getLayer(int layer) { return layers[layer]; }
+    public int getBrokenCount() { return brokenCount; }
+    public int getContactCount() { return contactCount; }
+    public int getLastBroken() { return lastBroken; }
+
+    @Override
+    public double getCurrentForce() { return currentForce; }
+    @Override
+    public boolean isBroken() { return brokenCount == layers.length; }
+}
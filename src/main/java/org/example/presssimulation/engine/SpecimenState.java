@@ -0,0 +1,67 @@
+package org.example.presssimulation.engine;
+
+public class SpecimenState {
+    private final String name;
+    private final double compressiveStrength; // предел прочности на сжатие в Паскалях
+    private final double destructionForce; // разрушающая сила в Ньютонах
+    private final double contactArea; // площадь контакта в м²
+    private final boolean isFragile;
+    private boolean isBroken = false;
+    private double currentForce = 0;
+
+    public SpecimenState(String name, double compressiveStrengthMPa, boolean isFragile, double contactArea) {
+        this.name = name;
+        this.compressiveStrength = compressiveStrengthMPa * 1_000_000; // Конвертируем МПа в Па
+        this.destructionForce = this.compressiveStrength * contactArea; // F = σ × A
+        this.isFragile = isFragile;
+        this.contactArea = contactArea;
+    }
+
+    public void reset() {
+        isBroken = false;
+        currentForce = 0;
+    }
+
+    // Возвращает true, если образец разрушился именно на этом вызове
+    public boolean applyForce(double force) {
+        if (isBroken)
+            return false;
+
+        currentForce = force;
+
+        if (force >= destructionForce) { // F >= σ × A
+            isBroken = true;
+            return true;
+        }
+        return false;
+    }
+
+    public double getForceRatio() {
+        return currentForce / destructionForce;
+    }
+
+    // Поршень прошёл travel за исходную переднюю грань образца; true - образец зажат и несёт нагрузку.
+    // Пакет слоёв при этом сдвигает толкаемые слои
+    public boolean pushTo(double travel) {
+        return travel >= 0;
+    }
+
+    // Пакет слоёв: в авто режиме поршень при нажатии стоит (иначе зазор перед смятым слоем был бы уже выбран),
+    // а потеря контакта только снимает нагрузку - смятые и сдвинутые слои остаются как есть
+    public boolean isLayered() {
+        return false;
+    }
+
+    // Разрушается ровно при getDestructionForce() - тогда событийный режим может прыгнуть сразу к разрушению
+    public boolean isThresholdExact() {
+        return true;
+    }
+
+    public String getName() { return name; }
+    public double getCompressiveStrength() { return compressiveStrength; }
+    public double getDestructionForce() { return destructionForce; }
+    public double getContactArea() { return contactArea; }
+    public double getCurrentForce() { return currentForce; }
+    public boolean isBroken() { return isBroken; }
+    public boolean isFragile() { return isFragile; }
+}
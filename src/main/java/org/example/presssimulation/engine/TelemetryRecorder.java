@@ -0,0 +1,77 @@
+package org.example.presssimulation.engine;
+
+// Запись состояния пресса на каждом шаге в заранее выделенные кольцевые буферы.
+// Без упаковки и без выделения памяти на отсчёт: при переполнении старые отсчёты затираются.
+public class TelemetryRecorder {
+    public static final int PRESSURE = 0;
+    public static final int FORCE = 1;
+    public static final int EXTENSION = 2;
+
+    public static final byte STATE_IDLE = 0;
+    public static final byte STATE_PRESSING = 1;
+    public static final byte STATE_BROKEN = 2;
+
+    private final int capacity;
+    private final long[] step;
+    private final double[] time; // с
+    private final double[] pressure; // Па
+    private final double[] force; // Н
+    private final double[] extension;
+    private final byte[] state;
+
+    private int head = 0; // куда пишется следующий отсчёт
+    private int count = 0;
+    private long recorded = 0;
+
+    public TelemetryRecorder(int capacity) {
+        this.capacity = capacity;
+        step = new long[capacity];
+        time = new double[capacity];
+        pressure = new double[capacity];
+        force = new double[capacity];
+        extension = new double[capacity];
+        state = new byte[capacity];
+    }
+
+    public void record(PressEngine engine) {
+        step[head] = recorded++;
+        time[head] = engine.getTime();
+        pressure[head] = engine.getPressure();
+        force[head] = engine.getForce();
+        extension[head] = engine.getPiston().getExtension();
+        state[head] = engine.getSpecimen().isBroken() ? STATE_BROKEN : engine.isPressing() ? STATE_PRESSING : STATE_IDLE;
+
+        head = head + 1 == capacity ? 0 : head + 1;
+        if (count < capacity)
+            count++;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+        recorded = 0;
+    }
+
+    // index 0 - самый старый из хранящихся отсчётов
+    private int slot(int index) {
+        int slot = head - count + index;
+        return slot < 0 ? slot + capacity : slot;
+    }
+
+    public double value(int channel, int index) {
+        int slot = slot(index);
+        return switch (channel) {
+            case PRESSURE -> pressure[slot];
+            case FORCE -> force[slot];
+            case EXTENSION -> extension[slot];
+            default -> throw new IllegalArgumentException("Неизвестный канал: " + channel);
+        };
+    }
+    public double getTime(int index) { return time[slot(index)]; }
+    public long getStep(int index) { return step[slot(index)]; }
+    public byte getState(int index) { return state[slot(index)]; }
+
+    public int size() { return count; }
+    public int capacity() { return capacity; }
+    public long totalRecorded() { return recorded; }
+}
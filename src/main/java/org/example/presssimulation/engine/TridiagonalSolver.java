@@ -0,0 +1,49 @@
+package org.example.presssimulation.engine;
+
+// Метод прогонки (алгоритм Томаса) для трёхдиагональной системы. Рабочие массивы выделяются один раз,
+// ничего не создаётся и при решении - годится для вызова на каждом шаге.
+// Разложение (factor) отделено от подстановки (solve): у одной матрицы несколько правых частей
+// решаются без повторных делений. Устойчив без выбора ведущего элемента при диагональном преобладании
+// (матрица жёсткости стержня такая).
+public class TridiagonalSolver {
+    private final double[] upperPrime;
+    private final double[] inverse; // 1 / ведущий элемент строки после исключения
+    private int size;
+
+    public TridiagonalSolver(int capacity) {
+        this.upperPrime = new double[capacity];
+        this.inverse = new double[capacity];
+    }
+
+    // Строка i: lower[i]·x[i-1] + diag[i]·x[i] + upper[i]·x[i+1]; lower[0] и upper[n-1] не читаются
+    public void factor(double[] lower, double[] diag, double[] upper, int n) {
+        inverse[0] = 1 / diag[0];
+        upperPrime[0] = n > 1 ? upper[0] * inverse[0] : 0;
+
+        for (int i = 1; i < n; i++) {
+            inverse[i] = 1 / (diag[i] - lower[i] * upperPrime[i - 1]);
+            upperPrime[i] = i < n - 1 ? upper[i] * inverse[i] : 0;
+        }
+        size = n;
+    }
+
+    // Решение по последнему разложению; lower - та же поддиагональ, x может совпадать с rhs
+    public void solve(double[] lower, double[] rhs, double[] x) {
+        int n = size;
+        x[0] = rhs[0] * inverse[0];
+        for (int i = 1; i < n; i++)
+            x[i] = (rhs[i] - lower[i] * x[i - 1]) * inverse[i];
+
+        for (int i = n - 2; i >= 0; i--)
+            x[i] -= upperPrime[i] * x[i + 1];
+    }
+
+    public void solve(double[] lower, double[] diag, double[] upper, double[] rhs, double[] x, int n) {
+        factor(lower, diag, upper, n);
+        solve(lower, rhs, x);
+    }
+
+    public int capacity() {
+        return upperPrime.length;
+    }
+}
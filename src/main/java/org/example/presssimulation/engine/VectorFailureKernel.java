@@ -0,0 +1,49 @@
+package org.example.presssimulation.engine;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Векторная часть BatchFailure. Класс загружается только когда модуль jdk.incubator.vector есть в образе.
+// Сравнение LE с NaN даёт false, как и force >= NaN в скалярном цикле.
+final class VectorFailureKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorFailureKernel() {}
+
+    static int breaks(double[] destructionForce, double force, long[] mask) {
+        int n = destructionForce.length;
+        int upper = SPECIES.loopBound(n);
+        int count = 0;
+
+        // число дорожек - степень двойки не больше 64 и i кратно ему, поэтому маска вектора не пересекает границу слова
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            VectorMask<Double> broken = DoubleVector.fromArray(SPECIES, destructionForce, i).compare(VectorOperators.LE, force);
+            mask[i >>> 6] |= broken.toLong() << i;
+            count += broken.trueCount();
+        }
+        for (; i < n; i++) {
+            if (force >= destructionForce[i]) {
+                mask[i >>> 6] |= 1L << i;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int count(double[] destructionForce, int from, int to, double force) {
+        int upper = from + SPECIES.loopBound(to - from);
+        int count = 0;
+
+        int i = from;
+        for (; i < upper; i += SPECIES.length())
+            count += DoubleVector.fromArray(SPECIES, destructionForce, i).compare(VectorOperators.LE, force).trueCount();
+        for (; i < to; i++) {
+            if (force >= destructionForce[i])
+                count++;
+        }
+        return count;
+    }
+}
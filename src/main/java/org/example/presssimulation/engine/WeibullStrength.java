@@ -0,0 +1,29 @@
+package org.example.presssimulation.engine;
+
+import java.util.SplittableRandom;
+
+// Разброс прочности хрупкого материала: P(σ) = 1 - exp(-(σ/σ0)^m).
+// scale - характерная прочность σ0 в Па, modulus - модуль Вейбулла m; при m <= 0 прочность всегда равна σ0.
+public record WeibullStrength(double scale, double modulus) {
+
+    public boolean isDeterministic() {
+        return modulus <= 0;
+    }
+
+    // Обратное преобразование: σ = σ0 × (-ln U)^(1/m), U из (0, 1]
+    public double sample(SplittableRandom random) {
+        if (isDeterministic())
+            return scale;
+        double u = 1.0 - random.nextDouble();
+        return scale * Math.pow(-Math.log(u), 1.0 / modulus);
+    }
+
+    // Доля образцов, прочность которых не выше stress
+    public double failureProbability(double stress) {
+        if (isDeterministic())
+            return stress >= scale ? 1 : 0;
+        if (stress <= 0)
+            return 0;
+        return -Math.expm1(-Math.pow(stress / scale, modulus));
+    }
+}
@@ -0,0 +1,267 @@
+package org.example.presssimulation.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.presssimulation.SettingsSnapshot;
+import org.example.presssimulation.SystemSettings;
+import org.example.presssimulation.YamlManager;
+import org.example.presssimulation.engine.FixedStepIntegrator;
+import org.example.presssimulation.engine.OutcomeCache;
+import org.example.presssimulation.engine.PistonState;
+import org.example.presssimulation.engine.PressEngine;
+import org.example.presssimulation.sweep.ParameterSweep;
+import org.example.presssimulation.sweep.ResultFormat;
+import org.example.presssimulation.sweep.SweepRange;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Локальный сервис расчёта для внешних систем:
+// POST /simulate - тело в том же виде, что settings.yaml (system_settings и materials), ответ - итог по каждому материалу.
+//   ?format=json|csv (по умолчанию json), ?engine=event|stepped (по умолчанию event - события в закрытом виде)
+// GET /health - проверка, что сервис жив, GET /stats - счётчики кэша итогов.
+// Каждый запрос обслуживается своим виртуальным потоком, одновременно читается и считается не больше --max-concurrent запросов.
+// Расчёт дороже MAX_WORK шагов по элементам отклоняется с 400 до начала счёта.
+// Запуск: --port 8085 --host 127.0.0.1 --max-concurrent <число ядер> [--cache outcomes.bin - кэш сохраняется при остановке]
+public class SimulationServer {
+    private static final int MAX_BODY_BYTES = 16 << 20;
+    private static final long QUEUE_TIMEOUT_SECONDS = 30; // дольше ждать места - отвечаем 503
+    private static final double MAX_TIME = 3600;
+    private static final double MAX_WORK = 1L << 30; // шагов × элементов × материалов на один запрос
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore simulations;
+    private final OutcomeCache cache; // запросы с каталожными материалами в основном повторяются
+
+    public SimulationServer(String host, int port, int maxConcurrent, OutcomeCache cache) throws IOException {
+        this.simulations = new Semaphore(maxConcurrent, true);
+        this.cache = cache;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.setExecutor(executor);
+        server.createContext("/simulate", this::handleSimulate);
+        server.createContext("/health", exchange -> respond(exchange, 200, "text/plain", "ok\n"));
+        server.createContext("/stats", exchange -> respond(exchange, 200, "text/plain", "кэш итогов: " + cache.stats() + "\n"));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.close();
+    }
+
+    public OutcomeCache getCache() {
+        return cache;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleSimulate(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().add("Allow", "POST");
+                respond(exchange, 405, "text/plain", "Нужен POST с YAML-описанием в теле\n");
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI());
+            ResultFormat format;
+            try {
+                format = ResultFormat.parse(query.getOrDefault("format", "json"));
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, "text/plain", "Неизвестный формат: " + query.get("format") + "\n");
+                return;
+            }
+            boolean eventDriven = !"stepped".equals(query.get("engine"));
+
+            // заведомо большое тело отклоняется по заголовку, не занимая места в очереди
+            if (declaredTooLarge(exchange.getRequestHeaders().getFirst("Content-Length"))) {
+                respond(exchange, 413, "text/plain", "Тело запроса больше " + (MAX_BODY_BYTES >> 20) + " МБ\n");
+                return;
+            }
+
+            // тело до 16 МБ читается тоже под семафором, иначе медленные клиенты занимают память без ограничения
+            if (!simulations.tryAcquire(QUEUE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                respond(exchange, 503, "text/plain", "Сервис перегружен, повторите запрос позже\n");
+                return;
+            }
+            int status = 200;
+            String result;
+            try {
+                byte[] body = readBody(exchange.getRequestBody());
+                if (body == null) {
+                    status = 413;
+                    result = "Тело запроса больше " + (MAX_BODY_BYTES >> 20) + " МБ\n";
+                } else {
+                    SettingsSnapshot snapshot = YamlManager.readSnapshot(
+                        new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8), "запрос " + exchange.getRemoteAddress());
+                    if (snapshot == null || snapshot.materials().isEmpty()) {
+                        status = 400;
+                        result = "Не удалось разобрать описание или в нём нет материалов\n";
+                    } else if (estimateWork(snapshot) > MAX_WORK) {
+                        status = 400;
+                        result = String.format("Слишком долгий расчёт: около %.3g шагов по элементам при пределе %.3g. "
+                            + "Увеличьте time_step или pressure_increment, уменьшите specimen_elements или число материалов%n",
+                            estimateWork(snapshot), MAX_WORK);
+                    } else {
+                        result = simulate(snapshot, format, eventDriven);
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                // недопустимые параметры в описании (например, шаг) - ошибка запроса, а не сервиса
+                status = 400;
+                result = "Неверные параметры: " + e.getMessage() + "\n";
+            } finally {
+                simulations.release();
+            }
+
+            // ответ отдаётся уже без семафора: медленный клиент не держит место расчёта
+            String contentType = status != 200 ? "text/plain" : format == ResultFormat.CSV ? "text/csv" : "application/json";
+            respond(exchange, status, contentType, result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("Ошибка обработки запроса: " + e.getMessage());
+            respond(exchange, 500, "text/plain", "Внутренняя ошибка: " + e.getMessage() + "\n");
+        }
+    }
+
+    private String simulate(SettingsSnapshot snapshot, ResultFormat format, boolean eventDriven) throws IOException {
+        SystemSettings settings = snapshot.system();
+        ParameterSweep sweep = new ParameterSweep(
+            snapshot.materials(),
+            SweepRange.single(settings.contactArea()),
+            SweepRange.single(settings.maxPressure()),
+            SweepRange.single(settings.pressureIncrement()),
+            settings.timeStep(),
+            MAX_TIME,
+            eventDriven
+        );
+        sweep.setCache(cache);
+        if (settings.program() != null)
+            sweep.setProfile(settings.program().compile());
+        sweep.setSpecimenElements(settings.specimenElements());
+
+        StringWriter out = new StringWriter();
+        sweep.run(out, format);
+        return out.toString();
+    }
+
+    // Верхняя оценка работы пошагового прогона: до MAX_TIME, а при линейном росте давления или программе -
+    // до выхода на максимум, плюс ход поршня до образца. Событийному режиму на границе шага приходится
+    // повторять те же сложения, поэтому оценка для него та же.
+    private static double estimateWork(SettingsSnapshot snapshot) {
+        SystemSettings settings = snapshot.system();
+        int elements = settings.specimenElements();
+        double approach = PistonState.MAX_EXTENSION / PressEngine.AUTO_SPEED;
+        double duration = MAX_TIME;
+        if (settings.program() != null)
+            duration = Math.min(duration, approach + settings.program().duration());
+        else if (settings.pressureIncrement() > 0)
+            duration = Math.min(duration, approach + settings.maxPressure() / settings.pressureIncrement());
+
+        double dt = settings.timeStep() > 0 ? settings.timeStep() : FixedStepIntegrator.DEFAULT_STEP;
+        return Math.ceil(duration / dt) * Math.max(elements, 1) * snapshot.materials().size();
+    }
+
+    private static boolean declaredTooLarge(String contentLength) {
+        if (contentLength == null)
+            return false;
+        try {
+            return Long.parseLong(contentLength.trim()) > MAX_BODY_BYTES;
+        } catch (NumberFormatException e) {
+            return false; // разбор заголовка оставляем серверу, тело всё равно читается с ограничением
+        }
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        String raw = uri.getQuery();
+        if (raw == null)
+            return query;
+
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0)
+                query.put(pair.substring(0, eq), pair.substring(eq + 1));
+        }
+        return query;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = "127.0.0.1";
+        int port = 8085;
+        int maxConcurrent = Runtime.getRuntime().availableProcessors();
+        String cacheFile = null;
+
+        if (args.length % 2 != 0) {
+            System.err.println("Не задано значение параметра " + args[args.length - 1]);
+            System.exit(2);
+        }
+        for (int i = 0; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--host" -> host = args[i + 1];
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--max-concurrent" -> maxConcurrent = Integer.parseInt(args[i + 1]);
+                case "--cache" -> cacheFile = args[i + 1];
+                default -> {
+                    System.err.println("Неизвестный параметр: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        OutcomeCache cache = cacheFile != null
+            ? OutcomeCache.load(cacheFile, OutcomeCache.DEFAULT_CAPACITY)
+            : new OutcomeCache(OutcomeCache.DEFAULT_CAPACITY);
+        SimulationServer server = new SimulationServer(host, port, maxConcurrent, cache);
+
+        String savedCache = cacheFile;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            if (savedCache == null)
+                return;
+            try {
+                cache.save(savedCache);
+            } catch (IOException e) {
+                System.err.println("Ошибка сохранения кэша итогов: " + e.getMessage());
+            }
+        }, "server-shutdown"));
+        server.start();
+        System.out.printf("Сервис расчёта слушает http://%s:%d/simulate (одновременно до %d расчётов)%n",
+            host, server.getPort(), maxConcurrent);
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.presssimulation.sweep;
+
+import org.example.presssimulation.MaterialCatalogFile;
+import org.example.presssimulation.MaterialConfig;
+import org.example.presssimulation.engine.OutcomeCache;
+import org.example.presssimulation.engine.PressEngine;
+import org.example.presssimulation.engine.PressOutcome;
+import org.example.presssimulation.engine.PressureProfile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Перебор всех сочетаний материал × площадь × макс. давление × скорость давления.
+// Считается блоками через fork-join, каждый готовый блок сразу уходит в вывод (CSV или JSON).
+public class ParameterSweep {
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final int LEAF_SIZE = 64;
+
+    private final List<MaterialConfig> materials;
+    private final SweepRange contactAreas; // м²
+    private final SweepRange maxPressures; // Па
+    private final SweepRange pressureIncrements; // Па/с
+    private final double timeStep;
+    private final double maxTime;
+    private final boolean eventDriven; // считать закрытой формой вместо пошагового прогона
+    private final ForkJoinPool pool;
+    private OutcomeCache cache; // повторяющиеся сочетания берутся из кэша, null - считать всё заново
+    private PressureProfile profile; // программа давления вместо линейного роста (скорость из диапазона тогда не влияет)
+    private int specimenElements; // > 0 - образцы из элементов вдоль оси
+
+    public ParameterSweep(List<MaterialConfig> materials, SweepRange contactAreas, SweepRange maxPressures,
+                          SweepRange pressureIncrements, double timeStep, double maxTime, boolean eventDriven) {
+        // пошаговому прогону нужен шаг > 0, событийному достаточно >= 0 (0 - точные моменты)
+        if (Double.isNaN(timeStep) || Double.isInfinite(timeStep) || (eventDriven ? timeStep < 0 : timeStep <= 0))
+            throw new IllegalArgumentException("Недопустимый шаг интегрирования: " + timeStep
+                + (eventDriven ? " (нужен 0 или больше)" : " (нужен больше 0)"));
+        if (Double.isNaN(maxTime))
+            throw new IllegalArgumentException("Недопустимый предел времени: " + maxTime);
+
+        // отображённый каталог неизменяем и читается по индексу, копировать его в кучу незачем
+        this.materials = materials instanceof MaterialCatalogFile ? materials : List.copyOf(materials);
+        this.contactAreas = contactAreas;
+        this.maxPressures = maxPressures;
+        this.pressureIncrements = pressureIncrements;
+        this.timeStep = timeStep;
+        this.maxTime = maxTime;
+        this.eventDriven = eventDriven;
+        this.pool = ForkJoinPool.commonPool();
+    }
+
+    public void setCache(OutcomeCache cache) {
+        this.cache = cache;
+    }
+
+    // Ключ кэша не описывает программу, поэтому с программой кэш не используется
+    public void setProfile(PressureProfile profile) {
+        this.profile = profile;
+    }
+
+    // Ключ кэша описывает только целый образец, с элементами кэш тоже не используется
+    public void setSpecimenElements(int specimenElements) {
+        this.specimenElements = specimenElements;
+    }
+
+    public long caseCount() {
+        return (long) materials.size() * contactAreas.steps() * maxPressures.steps() * pressureIncrements.steps();
+    }
+
+    public long run(Writer out) throws IOException {
+        return run(out, ResultFormat.CSV);
+    }
+    public long run(Writer out, ResultFormat format) throws IOException {
+        format.begin(out);
+
+        long total = caseCount();
+        PressOutcome[] block = new PressOutcome[(int) Math.min(BLOCK_SIZE, total)];
+        StringBuilder row = new StringBuilder(160);
+
+        for (long base = 0; base < total; base += BLOCK_SIZE) {
+            int size = (int) Math.min(BLOCK_SIZE, total - base);
+            pool.invoke(new SweepTask(base, 0, size, block));
+
+            for (int i = 0; i < size; i++) {
+                row.setLength(0);
+                appendRow(row, format, base + i, block[i]);
+                out.append(row);
+            }
+        }
+        format.end(out);
+        out.flush();
+        return total;
+    }
+
+    public PressOutcome runCase(long index) {
+        int increment = (int) (index % pressureIncrements.steps());
+        index /= pressureIncrements.steps();
+        int pressure = (int) (index % maxPressures.steps());
+        index /= maxPressures.steps();
+        int area = (int) (index % contactAreas.steps());
+        int material = (int) (index / contactAreas.steps());
+
+        if (cache != null && profile == null && specimenElements <= 0) {
+            MaterialConfig config = materials.get(material);
+            return cache.outcome(new OutcomeCache.Key(config.getCompressiveStrengthMPa(), config.getContactArea(),
+                config.isFragile(), contactAreas.value(area), maxPressures.value(pressure),
+                pressureIncrements.value(increment), timeStep, maxTime, eventDriven));
+        }
+
+        PressEngine engine = new PressEngine(
+            materials.get(material).toSpecimen(specimenElements),
+            contactAreas.value(area),
+            maxPressures.value(pressure),
+            pressureIncrements.value(increment)
+        );
+        engine.getHydraulics().setProfile(profile);
+        return eventDriven ? engine.runEventDriven(timeStep, maxTime) : engine.runToCompletion(timeStep, maxTime);
+    }
+
+    private void appendRow(StringBuilder row, ResultFormat format, long index, PressOutcome outcome) {
+        long caseIndex = index;
+        int increment = (int) (index % pressureIncrements.steps());
+        index /= pressureIncrements.steps();
+        int pressure = (int) (index % maxPressures.steps());
+        index /= maxPressures.steps();
+        int area = (int) (index % contactAreas.steps());
+        MaterialConfig material = materials.get((int) (index / contactAreas.steps()));
+
+        format.appendRow(row, caseIndex == 0, material, contactAreas.value(area),
+            maxPressures.value(pressure), pressureIncrements.value(increment), outcome);
+    }
+
+    private class SweepTask extends RecursiveAction {
+        private final long base;
+        private final int from;
+        private final int to;
+        private final PressOutcome[] results;
+
+        SweepTask(long base, int from, int to, PressOutcome[] results) {
+            this.base = base;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++)
+                    results[i] = runCase(base + i);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(base, from, middle, results), new SweepTask(base, middle, to, results));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.presssimulation.sweep;
+
+import org.example.presssimulation.MaterialConfig;
+import org.example.presssimulation.engine.PressOutcome;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+// Машиночитаемый вывод результатов прогона: CSV (по строке на вариант) или JSON-массив объектов.
+// Время и величины, которые не наступили (нет контакта, нет разрушения), остаются пустыми / null.
+public enum ResultFormat {
+    CSV {
+        @Override
+        void begin(Writer out) throws IOException {
+            out.write("material,strength_mpa,fragile,material_area,contact_area,max_pressure_mpa,pressure_increment_mpa,"
+                + "broken,contact_time_s,failure_time_s,pressure_mpa,force_kn\n");
+        }
+        @Override
+        void appendRow(StringBuilder row, boolean first, MaterialConfig material, double contactArea,
+                       double maxPressure, double pressureIncrement, PressOutcome outcome) {
+            appendName(row, material.getName());
+            row.append(',').append(material.getCompressiveStrengthMPa())
+                .append(',').append(material.isFragile())
+                .append(',').append(material.getContactArea())
+                .append(',').append(contactArea)
+                .append(',').append(maxPressure / 1_000_000)
+                .append(',').append(pressureIncrement / 1_000_000)
+                .append(',').append(outcome.broken());
+            appendValue(row, outcome.contactTime());
+            appendValue(row, outcome.failureTime());
+            appendValue(row, outcome.pressure() / 1_000_000);
+            appendValue(row, outcome.force() / 1000);
+            row.append('\n');
+        }
+        @Override
+        void end(Writer out) {}
+
+        // поля с запятой, кавычкой или переводом строки берутся в кавычки (RFC 4180)
+        private static void appendName(StringBuilder row, String name) {
+            if (name.indexOf(',') < 0 && name.indexOf('"') < 0 && name.indexOf('\n') < 0 && name.indexOf('\r') < 0) {
+                row.append(name);
+                return;
+            }
+            row.append('"').append(name.replace("\"", "\"\"")).append('"');
+        }
+        private static void appendValue(StringBuilder row, double value) {
+            row.append(',');
+            if (!Double.isNaN(value))
+                row.append(value);
+        }
+    },
+
+    JSON {
+        @Override
+        void begin(Writer out) throws IOException {
+            out.write("[\n");
+        }
+        @Override
+        void appendRow(StringBuilder row, boolean first, MaterialConfig material, double contactArea,
+                       double maxPressure, double pressureIncrement, PressOutcome outcome) {
+            if (!first)
+                row.append(",\n");
+
+            row.append("{\"material\":");
+            appendString(row, material.getName());
+            appendField(row, "strength_mpa", material.getCompressiveStrengthMPa());
+            row.append(",\"fragile\":").append(material.isFragile());
+            appendField(row, "material_area", material.getContactArea());
+            appendField(row, "contact_area", contactArea);
+            appendField(row, "max_pressure_mpa", maxPressure / 1_000_000);
+            appendField(row, "pressure_increment_mpa", pressureIncrement / 1_000_000);
+            row.append(",\"broken\":").append(outcome.broken());
+            appendField(row, "contact_time_s", outcome.contactTime());
+            appendField(row, "failure_time_s", outcome.failureTime());
+            appendField(row, "pressure_mpa", outcome.pressure() / 1_000_000);
+            appendField(row, "force_kn", outcome.force() / 1000);
+            row.append('}');
+        }
+        @Override
+        void end(Writer out) throws IOException {
+            out.write("\n]\n");
+        }
+
+        private static void appendField(StringBuilder row, String name, double value) {
+            row.append(",\"").append(name).append("\":");
+            if (Double.isNaN(value) || Double.isInfinite(value))
+                row.append("null");
+            else
+                row.append(value);
+        }
+        private static void appendString(StringBuilder row, String text) {
+            row.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"' -> row.append("\\\"");
+                    case '\\' -> row.append("\\\\");
+                    case '\n' -> row.append("\\n");
+                    case '\r' -> row.append("\\r");
+                    case '\t' -> row.append("\\t");
+                    default -> {
+                        if (c < 0x20)
+                            row.append(String.format("\\u%04x", (int) c));
+                        else
+                            row.append(c);
+                    }
+                }
+            }
+            row.append('"');
+        }
+    };
+
+    abstract void begin(Writer out) throws IOException;
+    abstract void appendRow(StringBuilder row, boolean first, MaterialConfig material, double contactArea,
+                            double maxPressure, double pressureIncrement, PressOutcome outcome);
+    abstract void end(Writer out) throws IOException;
+
+    public static ResultFormat parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
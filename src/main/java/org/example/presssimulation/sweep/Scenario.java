@@ -0,0 +1,55 @@
+package org.example.presssimulation.sweep;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+// Файл сценария для прогона без UI. Все ключи необязательны, не заданное берётся из settings.yaml:
+//   materials: [Сталь, Бетон]     # по названию, без ключа - все материалы
+//   contact_area: 0.01            # м², число или диапазон "a:b:n"
+//   max_pressure_mpa: 100:300:5
+//   pressure_increment_mpa: 10
+//   time_step: 0.001
+//   max_time: 3600
+//   engine: event                 # event или stepped
+public record Scenario(List<String> materials, String contactArea, String maxPressure, String pressureIncrement,
+                       Double timeStep, Double maxTime, boolean eventDriven) {
+
+    public static Scenario load(String fileName) {
+        try (InputStream in = Files.newInputStream(Path.of(fileName))) {
+            Object root = new Yaml().load(in);
+            Map<?, ?> data = root instanceof Map<?, ?> map ? map : Map.of();
+
+            List<String> materials = null;
+            if (data.get("materials") instanceof List<?> names)
+                materials = names.stream().map(String::valueOf).toList();
+
+            Object engine = data.get("engine");
+            return new Scenario(
+                materials,
+                range(data.get("contact_area")),
+                range(data.get("max_pressure_mpa")),
+                range(data.get("pressure_increment_mpa")),
+                number(data.get("time_step")),
+                number(data.get("max_time")),
+                "event".equals(engine)
+            );
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ошибка чтения сценария " + fileName + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    // диапазон оставляем строкой, его разбирает SweepRange
+    private static String range(Object value) {
+        return value == null ? null : String.valueOf(value);
+    }
+    private static Double number(Object value) {
+        return value instanceof Number n ? n.doubleValue() : value == null ? null : Double.valueOf(value.toString());
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.presssimulation.sweep;
+
+import org.example.presssimulation.MaterialConfig;
+import org.example.presssimulation.SettingsSnapshot;
+import org.example.presssimulation.SystemSettings;
+import org.example.presssimulation.YamlManager;
+import org.example.presssimulation.engine.OutcomeCache;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+// Прогон сценария без JavaFX, быстрее реального времени - для регрессионных и калибровочных заданий:
+// --settings settings.yaml --scenario scenario.yaml --out results.json --format json
+// Без --out результаты печатаются в stdout (сводка тогда уходит в stderr). Формат: csv (по умолчанию) или json.
+// --cache outcomes.bin - кэш итогов между запусками.
+public class ScenarioRunner {
+    private static final double DEFAULT_MAX_TIME = 3600;
+
+    public static void main(String[] args) {
+        String settingsFile = "settings.yaml";
+        String cacheFile = null;
+        String scenarioFile = null;
+        String outFile = null;
+        ResultFormat format = ResultFormat.CSV;
+
+        if (args.length % 2 != 0) {
+            System.err.println("Не задано значение параметра " + args[args.length - 1]);
+            System.exit(2);
+        }
+        for (int i = 0; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--settings" -> settingsFile = args[i + 1];
+                case "--cache" -> cacheFile = args[i + 1];
+                case "--scenario" -> scenarioFile = args[i + 1];
+                case "--out" -> outFile = args[i + 1];
+                case "--format" -> {
+                    try {
+                        format = ResultFormat.parse(args[i + 1]);
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Неизвестный формат: " + args[i + 1] + " (ожидается csv или json)");
+                        System.exit(2);
+                    }
+                }
+                default -> {
+                    System.err.println("Неизвестный параметр: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        SettingsSnapshot snapshot = YamlManager.loadSnapshot(settingsFile);
+        if (snapshot == null) {
+            System.err.println("Не удалось загрузить настройки из " + settingsFile);
+            System.exit(1);
+        }
+        Scenario scenario = scenarioFile != null ? Scenario.load(scenarioFile)
+            : new Scenario(null, null, null, null, null, null, false);
+        if (scenario == null)
+            System.exit(1);
+
+        List<MaterialConfig> materials = selectMaterials(snapshot.materials(), scenario.materials());
+        if (materials == null)
+            System.exit(1);
+        if (materials.isEmpty()) {
+            System.err.println("В сценарии нет материалов для прогона");
+            System.exit(1);
+        }
+
+        SystemSettings settings = snapshot.system();
+        ParameterSweep sweep = null;
+        try {
+            sweep = new ParameterSweep(
+                materials,
+                scenario.contactArea() != null ? SweepRange.parse(scenario.contactArea()) : SweepRange.single(settings.contactArea()),
+                scenario.maxPressure() != null ? SweepRange.parse(scenario.maxPressure()).scaled(1_000_000)
+                    : SweepRange.single(settings.maxPressure()),
+                scenario.pressureIncrement() != null ? SweepRange.parse(scenario.pressureIncrement()).scaled(1_000_000)
+                    : SweepRange.single(settings.pressureIncrement()),
+                scenario.timeStep() != null ? scenario.timeStep() : settings.timeStep(),
+                scenario.maxTime() != null ? scenario.maxTime() : DEFAULT_MAX_TIME,
+                scenario.eventDriven()
+            );
+        } catch (IllegalArgumentException e) {
+            System.err.println("Неверный параметр сценария: " + e.getMessage());
+            System.exit(2);
+        }
+
+        OutcomeCache cache = cacheFile != null ? OutcomeCache.load(cacheFile, OutcomeCache.DEFAULT_CAPACITY) : null;
+        sweep.setCache(cache);
+        if (settings.program() != null)
+            sweep.setProfile(settings.program().compile());
+        sweep.setSpecimenElements(settings.specimenElements());
+
+        long start = System.nanoTime();
+        try (Writer out = outFile != null
+                ? new BufferedWriter(Files.newBufferedWriter(Path.of(outFile), StandardCharsets.UTF_8), 1 << 16)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16)) {
+            long count = sweep.run(out, format);
+            System.err.printf("Рассчитано вариантов: %d за %.1f с%s%n", count, (System.nanoTime() - start) / 1e9,
+                outFile != null ? ", результат в " + outFile : "");
+        } catch (IOException e) {
+            System.err.println("Ошибка записи результатов: " + e.getMessage());
+            System.exit(1);
+        }
+
+        if (cache != null) {
+            System.err.println("Кэш итогов: " + cache.stats());
+            try {
+                cache.save(cacheFile);
+            } catch (IOException e) {
+                System.err.println("Ошибка сохранения кэша итогов: " + e.getMessage());
+            }
+        }
+    }
+
+    // материалы в порядке сценария; неизвестное название - ошибка, а не молча пропущенный прогон
+    private static List<MaterialConfig> selectMaterials(List<MaterialConfig> catalog, List<String> names) {
+        if (names == null)
+            return catalog;
+
+        Map<String, MaterialConfig> byName = new HashMap<>();
+        for (MaterialConfig config : catalog)
+            byName.putIfAbsent(config.getName(), config);
+
+        List<MaterialConfig> selected = new ArrayList<>(names.size());
+        for (String name : names) {
+            MaterialConfig config = byName.get(name);
+            if (config == null) {
+                System.err.println("Материал из сценария не найден в настройках: " + name);
+                return null;
+            }
+            selected.add(config);
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.presssimulation.sweep;
+
+// Равномерная сетка значений from..to из steps точек (steps = 1 - одно значение from)
+public record SweepRange(double from, double to, int steps) {
+
+    public SweepRange {
+        if (steps < 1)
+            throw new IllegalArgumentException("Число шагов должно быть положительным: " + steps);
+    }
+
+    public static SweepRange single(double value) {
+        return new SweepRange(value, value, 1);
+    }
+
+    // Формат: "значение" или "от:до:шагов"
+    public static SweepRange parse(String text) {
+        String[] parts = text.trim().split(":");
+        if (parts.length == 1)
+            return single(Double.parseDouble(parts[0]));
+        if (parts.length == 3)
+            return new SweepRange(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]), Integer.parseInt(parts[2]));
+
+        throw new IllegalArgumentException("Диапазон должен быть в формате от:до:шагов, получено: " + text);
+    }
+
+    public double value(int index) {
+        if (steps == 1)
+            return from;
+        return from + (to - from) * index / (steps - 1);
+    }
+
+    public SweepRange scaled(double factor) {
+        return new SweepRange(from * factor, to * factor, steps);
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.presssimulation.sweep;
+
+import org.example.presssimulation.MaterialCatalogFile;
+import org.example.presssimulation.MaterialConfig;
+import org.example.presssimulation.SettingsSnapshot;
+import org.example.presssimulation.SystemSettings;
+import org.example.presssimulation.YamlManager;
+import org.example.presssimulation.engine.OutcomeCache;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Запуск перебора без UI:
+// --settings settings.yaml --out sweep.csv --area 0.005:0.02:4 --max-pressure 100:300:5 --increment 5:50:10 --dt 0.001
+// Площадь в м², давление в МПа, скорость в МПа/с. Не заданные диапазоны и шаг берутся из system_settings.
+// --catalog materials.bin берёт материалы из двоичного каталога вместо раздела materials.
+// --engine event считает события в закрытом виде (--dt 0 - точные моменты без привязки к шагу).
+// --cache outcomes.bin берёт повторяющиеся сочетания из кэша итогов и дописывает в него новые.
+public class SweepRunner {
+    private static final double DEFAULT_MAX_TIME = 3600;
+
+    public static void main(String[] args) {
+        String settingsFile = "settings.yaml";
+        String cacheFile = null;
+        String outFile = "sweep.csv";
+        String catalogFile = null;
+        String area = null;
+        String maxPressure = null;
+        String increment = null;
+        Double timeStep = null;
+        double maxTime = DEFAULT_MAX_TIME;
+        boolean eventDriven = false;
+
+        // параметры идут парами: последний флаг без значения иначе молча пропал бы
+        if (args.length % 2 != 0) {
+            System.err.println("Не задано значение параметра " + args[args.length - 1]);
+            System.exit(2);
+        }
+        for (int i = 0; i < args.length; i += 2) {
+            try {
+                switch (args[i]) {
+                    case "--settings" -> settingsFile = args[i + 1];
+                    case "--cache" -> cacheFile = args[i + 1];
+                    case "--out" -> outFile = args[i + 1];
+                    case "--catalog" -> catalogFile = args[i + 1];
+                    case "--area" -> area = args[i + 1];
+                    case "--max-pressure" -> maxPressure = args[i + 1];
+                    case "--increment" -> increment = args[i + 1];
+                    case "--dt" -> timeStep = Double.parseDouble(args[i + 1]);
+                    case "--max-time" -> maxTime = Double.parseDouble(args[i + 1]);
+                    case "--engine" -> eventDriven = args[i + 1].equals("event");
+                    default -> {
+                        System.err.println("Неизвестный параметр: " + args[i]);
+                        System.exit(2);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Неверное число в " + args[i] + ": " + args[i + 1]);
+                System.exit(2);
+            }
+        }
+
+        SettingsSnapshot snapshot = YamlManager.loadSnapshot(settingsFile);
+        List<MaterialConfig> materials = snapshot == null ? null
+            : catalogFile != null ? MaterialCatalogFile.open(catalogFile)
+            : snapshot.materials();
+        if (materials == null || materials.isEmpty()) {
+            System.err.println("Не удалось загрузить настройки и материалы из " + (catalogFile != null ? catalogFile : settingsFile));
+            System.exit(1);
+        }
+
+        SystemSettings settings = snapshot.system();
+        ParameterSweep sweep = null;
+        try {
+            sweep = new ParameterSweep(
+                materials,
+                area != null ? SweepRange.parse(area) : SweepRange.single(settings.contactArea()),
+                maxPressure != null ? SweepRange.parse(maxPressure).scaled(1_000_000) : SweepRange.single(settings.maxPressure()),
+                increment != null ? SweepRange.parse(increment).scaled(1_000_000) : SweepRange.single(settings.pressureIncrement()),
+                timeStep != null ? timeStep : settings.timeStep(),
+                maxTime,
+                eventDriven
+            );
+        } catch (IllegalArgumentException e) {
+            System.err.println("Неверный параметр: " + e.getMessage());
+            System.exit(2);
+        }
+
+        OutcomeCache cache = cacheFile != null ? OutcomeCache.load(cacheFile, OutcomeCache.DEFAULT_CAPACITY) : null;
+        sweep.setCache(cache);
+        if (settings.program() != null)
+            sweep.setProfile(settings.program().compile());
+        sweep.setSpecimenElements(settings.specimenElements());
+
+        long start = System.nanoTime();
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(Path.of(outFile), StandardCharsets.UTF_8), 1 << 16)) {
+            long count = sweep.run(out);
+            System.out.printf("Рассчитано вариантов: %d за %.1f с, результат в %s%n", count, (System.nanoTime() - start) / 1e9, outFile);
+        } catch (IOException e) {
+            System.err.println("Ошибка записи результатов: " + e.getMessage());
+            System.exit(1);
+        }
+
+        if (cache != null) {
+            System.out.println("Кэш итогов: " + cache.stats());
+            try {
+                cache.save(cacheFile);
+            } catch (IOException e) {
+                System.err.println("Ошибка сохранения кэша итогов: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.presssimulation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MaterialCatalogFileTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripKeepsEveryField() throws IOException {
+        List<MaterialConfig> materials = List.of(
+            new MaterialConfig("Бетон М300", 30, true, 0.01, 12),
+            new MaterialConfig("Сталь", 250, false, 0.0025),
+            new MaterialConfig("Гранит", 180.5, true, 0.013, 7.5)
+        );
+        String file = dir.resolve("materials.bin").toString();
+        MaterialCatalogFile.write(file, materials);
+
+        MaterialCatalogFile catalog = MaterialCatalogFile.open(file);
+        assertNotNull(catalog);
+        assertEquals(materials, catalog);
+        assertEquals(12, catalog.getWeibullModulus(0));
+        assertEquals(0, catalog.getWeibullModulus(1));
+    }
+
+    // В первой версии не было weibull_modulus: открыть её молча - потерять разброс прочности
+    @Test
+    void rejectsVersionWithoutWeibullModulus() throws IOException {
+        Path file = dir.resolve("old.bin");
+        ByteBuffer header = ByteBuffer.allocate(16).putInt(0x50525343).putInt(1).putInt(0).putInt(0);
+        Files.write(file, header.array());
+
+        assertNull(MaterialCatalogFile.open(file.toString()));
+    }
+}
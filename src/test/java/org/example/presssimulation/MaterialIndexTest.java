@@ -0,0 +1,36 @@
+package org.example.presssimulation;
+
+import org.example.presssimulation.engine.PistonState;
+import org.example.presssimulation.engine.SpecimenState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MaterialIndexTest {
+    private static final double PISTON_AREA = 0.01;
+
+    // "@давление" отбирает ровно те материалы, которые разрушил бы пресс: SpecimenState.applyForce на силе поршня
+    @Test
+    void pressureQueryMatchesSpecimenState() {
+        Random random = new Random(20_250_419);
+        List<MaterialConfig> catalog = new ArrayList<>();
+        for (int i = 0; i < 300; i++)
+            catalog.add(new MaterialConfig("m" + i, random.nextInt(1, 400), random.nextBoolean(), random.nextDouble(0.001, 0.02)));
+        MaterialIndex index = new MaterialIndex(catalog);
+
+        for (String query : new String[]{"@0", "@30", "@120.5", "@400 хрупкий", "@250 >100", "m1 @200"}) {
+            List<MaterialConfig> expected = new ArrayList<>(index.search(query.replaceAll("@\\S+", ""), catalog.size(), PISTON_AREA));
+            double pressure = Double.parseDouble(query.replaceAll(".*@(\\S+).*", "$1")) * 1_000_000;
+            PistonState piston = new PistonState(PISTON_AREA);
+            piston.setHydraulicPressure(pressure);
+            expected.removeIf(config -> !new SpecimenState(config.getName(), config.getCompressiveStrengthMPa(),
+                config.isFragile(), config.getContactArea()).applyForce(piston.getForce()));
+
+            assertEquals(expected, index.search(query, catalog.size(), PISTON_AREA), query);
+        }
+    }
+}
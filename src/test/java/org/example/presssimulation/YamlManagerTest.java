@@ -0,0 +1,67 @@
+package org.example.presssimulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class YamlManagerTest {
+    private static final String MATERIALS = """
+        materials:
+        - name: Бетон
+          strength_mpa: 30.0
+          fragile: true
+          contact_area: 0.01
+        """;
+
+    // max_substeps < 1 ломает FixedStepIntegrator уже при применении настроек - такой файл не загружается
+    @Test
+    void rejectsMaxSubstepsBelowOne() {
+        for (String value : new String[]{"0", "-3", "0.5", ".nan"})
+            assertNull(read(settings("max_substeps: " + value)), "max_substeps " + value);
+
+        SettingsSnapshot snapshot = read(settings("max_substeps: 1"));
+        assertNotNull(snapshot);
+        assertEquals(1, snapshot.system().maxSubSteps());
+    }
+
+    // fragile в написаниях YAML 1.1 и любом регистре; непонятное значение пропускает только эту запись
+    @Test
+    void acceptsYamlBooleanSpellingsForFragile() {
+        String[] spellings = {"true", "True", "YES", "y", "On", "false", "FALSE", "no", "N", "off", "'yes'", "maybe"};
+        Boolean[] expected = {true, true, true, true, true, false, false, false, false, false, true, null};
+        StringBuilder yaml = new StringBuilder("materials:\n");
+        for (int i = 0; i < spellings.length; i++)
+            yaml.append("- name: m").append(i).append("\n  strength_mpa: 30\n  fragile: ").append(spellings[i])
+                .append("\n  contact_area: 0.01\n");
+
+        SettingsSnapshot snapshot = read(yaml.toString());
+        assertNotNull(snapshot);
+        int loaded = 0;
+        for (int i = 0; i < spellings.length; i++) {
+            if (expected[i] == null)
+                continue;
+            MaterialConfig material = snapshot.materials().get(loaded++);
+            assertEquals("m" + i, material.getName(), spellings[i]);
+            assertEquals(expected[i], material.isFragile(), spellings[i]);
+        }
+        assertEquals(loaded, snapshot.materials().size());
+    }
+
+    private static String settings(String extra) {
+        return """
+            system_settings:
+              max_pressure: 150000000
+              pressure_increment: 10000000
+              contact_area: 0.01
+              %s
+            """.formatted(extra) + MATERIALS;
+    }
+
+    private static SettingsSnapshot read(String yaml) {
+        return YamlManager.readSnapshot(new StringReader(yaml), "тест");
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.presssimulation.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Векторное ядро, скалярный цикл и SpecimenState.applyForce должны разрушать одни и те же образцы
+class BatchFailureTest {
+    private static final double PISTON_AREA = 0.01;
+    private static final long SEED = 20_250_415;
+
+    @Test
+    void vectorKernelMatchesScalarLoop() {
+        Random random = new Random(SEED);
+        // длины 0..300 дают любой хвост после последнего полного вектора и маски на несколько слов
+        for (int n = 0; n <= 300; n++) {
+            double[] destructionForce = randomForces(random, n);
+            for (double force : probeForces(random, destructionForce)) {
+                long[] expected = new long[(n + 63) >>> 6];
+                long[] actual = new long[expected.length];
+                int expectedCount = BatchFailure.scalarBreaks(destructionForce, force, expected);
+                int actualCount = VectorFailureKernel.breaks(destructionForce, force, actual);
+
+                assertEquals(expectedCount, actualCount, "n " + n + ", F " + force);
+                assertArrayEquals(expected, actual, "n " + n + ", F " + force);
+
+                int from = n == 0 ? 0 : random.nextInt(n);
+                int to = from + random.nextInt(n - from + 1);
+                assertEquals(BatchFailure.scalarCount(destructionForce, from, to, force),
+                    VectorFailureKernel.count(destructionForce, from, to, force), "n " + n + ", [" + from + ", " + to + "), F " + force);
+            }
+        }
+    }
+
+    @Test
+    void breaksMatchSpecimenState() {
+        Random random = new Random(SEED + 1);
+        for (int round = 0; round < 200; round++) {
+            int n = random.nextInt(150);
+            double[] strength = new double[n];
+            double[] area = new double[n];
+            for (int i = 0; i < n; i++) {
+                strength[i] = random.nextInt(10) == 0 ? 0 : random.nextDouble(1, 400);
+                area[i] = random.nextInt(10) == 0 ? 0 : random.nextDouble(0.001, 0.02);
+            }
+            BatchFailure batch = new BatchFailure(strength, area);
+
+            for (double pressure : probePressures(random, batch)) {
+                long[] mask = new long[(n + 63) >>> 6];
+                int count = batch.breaks(pressure, PISTON_AREA, mask);
+                int[] counted = batch.countBroken(new double[]{pressure}, PISTON_AREA);
+
+                int expected = 0;
+                for (int i = 0; i < n; i++) {
+                    SpecimenState specimen = new SpecimenState("s", strength[i], true, area[i]);
+                    PistonState piston = new PistonState(PISTON_AREA);
+                    piston.setHydraulicPressure(pressure);
+                    boolean broken = specimen.applyForce(piston.getForce());
+
+                    assertEquals(broken, (mask[i >>> 6] & 1L << i) != 0,
+                        strength[i] + " МПа, " + area[i] + " м², " + pressure + " Па");
+                    if (broken)
+                        expected++;
+                }
+                assertEquals(expected, count);
+                assertEquals(expected, counted[0]);
+            }
+        }
+    }
+
+    // Сила ровно на пороге разрушает, на ulp ниже - нет; нулевая площадь разрушается при любом давлении.
+    // Площадь поршня 1 м², чтобы давление и сила совпадали без округления
+    @Test
+    void edgeCases() {
+        BatchFailure batch = new BatchFailure(new double[]{100, 30, 250}, new double[]{0.01, 0, 0.0025});
+        long[] mask = new long[1];
+        double threshold = batch.getDestructionForce(0);
+
+        assertEquals(3, batch.breaks(threshold, 1, mask));
+        assertEquals(0b111, mask[0]);
+
+        assertEquals(2, batch.breaks(Math.nextDown(threshold), 1, mask));
+        assertEquals(0b110, mask[0]);
+
+        assertEquals(1, batch.breaks(0, 1, mask));
+        assertEquals(0b010, mask[0]);
+        assertArrayEquals(new int[]{1, 2, 3, 2},
+            batch.countBroken(new double[]{0, Math.nextDown(threshold), threshold, batch.getDestructionForce(2)}, 1));
+    }
+
+    private static double[] randomForces(Random random, int n) {
+        double[] forces = new double[n];
+        for (int i = 0; i < n; i++) {
+            forces[i] = switch (random.nextInt(8)) {
+                case 0 -> 0;
+                case 1 -> Double.NaN;
+                case 2 -> i > 0 ? forces[i - 1] : 1e6; // повторы - ровно на пороге сразу несколько дорожек
+                default -> random.nextDouble(0, 4e6);
+            };
+        }
+        return forces;
+    }
+
+    // Случайные силы плюс пороги самих образцов и соседние с ними значения
+    private static double[] probeForces(Random random, double[] destructionForce) {
+        double[] forces = new double[8];
+        for (int j = 0; j < forces.length; j++) {
+            double threshold = destructionForce.length > 0 ? destructionForce[random.nextInt(destructionForce.length)] : 1e6;
+            forces[j] = switch (j % 4) {
+                case 0 -> threshold;
+                case 1 -> Math.nextDown(threshold);
+                case 2 -> Math.nextUp(threshold);
+                default -> random.nextDouble(0, 4e6);
+            };
+        }
+        forces[0] = 0;
+        return forces;
+    }
+
+    private static double[] probePressures(Random random, BatchFailure batch) {
+        double[] pressures = new double[6];
+        for (int j = 0; j < pressures.length; j++) {
+            double threshold = batch.size() > 0 ? batch.getDestructionForce(random.nextInt(batch.size())) / PISTON_AREA : 100e6;
+            pressures[j] = switch (j % 3) {
+                case 0 -> threshold;
+                case 1 -> Math.nextDown(threshold);
+                default -> random.nextDouble(0, 400e6);
+            };
+        }
+        pressures[0] = 0;
+        return pressures;
+    }
+}
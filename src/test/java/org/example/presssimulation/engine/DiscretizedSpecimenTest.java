@@ -0,0 +1,99 @@
+package org.example.presssimulation.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiscretizedSpecimenTest {
+    private static final double[] STRENGTHS = {5, 30, 47.3, 100, 250, 333.3}; // МПа
+    private static final double[] AREAS = {0.0025, 0.01, 0.013};
+
+    // Один элемент без разброса - тот же образец, что и SpecimenState: порог совпадает до бита
+    @Test
+    void singleElementMatchesSpecimenStateThreshold() {
+        for (double strength : STRENGTHS)
+            for (double area : AREAS)
+                for (boolean fragile : new boolean[]{true, false}) {
+                    SpecimenState plain = new SpecimenState("s", strength, fragile, area);
+                    DiscretizedSpecimen discretized = new DiscretizedSpecimen("s", strength, fragile, area, 0, 1, 0);
+                    double threshold = plain.getDestructionForce();
+                    String label = strength + " МПа, " + area + " м², хрупкий " + fragile;
+
+                    assertEquals(threshold, discretized.getDestructionForce(), label);
+
+                    discretized.applyForce(Math.nextDown(threshold));
+                    assertFalse(discretized.isBroken(), label);
+                    assertTrue(discretized.getForceRatio() < 1, label);
+
+                    // хрупкий рвётся на пороге, пластичный на нём только начинает течь
+                    assertEquals(fragile, discretized.applyForce(threshold), label);
+                    assertEquals(1, discretized.getForceRatio(), 1e-12, label);
+                }
+    }
+
+    // Большой скачок силы за пределом текучести должен прийти к тому же равновесию, что и мелкие шаги.
+    // Без разброса элемент рвётся при 1.1 порога текучести (упрочнение 1%, предельная деформация 0.02) - берём ниже
+    @Test
+    void largeIncrementConvergesToSteppedEquilibrium() {
+        for (int elements : new int[]{1, 15, 47, 400})
+            for (double weibullModulus : new double[]{0, 5, 12}) {
+                DiscretizedSpecimen jump = new DiscretizedSpecimen("s", 100, false, 0.01, weibullModulus, elements, 42);
+                DiscretizedSpecimen stepped = new DiscretizedSpecimen("s", 100, false, 0.01, weibullModulus, elements, 42);
+                double critical = jump.getDestructionForce();
+                double target = 1.06 * critical;
+                String label = elements + " элементов, m " + weibullModulus;
+
+                jump.applyForce(target);
+                for (int k = 1; k <= 1000; k++)
+                    stepped.applyForce(k == 1000 ? target : target * k / 1000);
+
+                assertTrue(jump.isConverged(), label);
+                assertTrue(stepped.isConverged(), label);
+                assertFalse(jump.isBroken(), label);
+                assertFalse(stepped.isBroken(), label);
+                assertEquals(stepped.getForceRatio(), jump.getForceRatio(), 1e-6, label);
+            }
+    }
+
+    // Разгрузка после текучести: на этих двух элементах Ньютон без дробления шага за 25 итераций не сходится
+    @Test
+    void unloadingAfterYieldConvergesBySubsteps() {
+        long[] seeds = {902827663378947627L, -948812004517983280L};
+        double[][] histories = {{1.0419370994317014, 1.0457241262703656, 0.4649544045522652},
+            {1.0105290670172693, 1.073280960814535, 0.03337582807835846}};
+        for (int h = 0; h < seeds.length; h++) {
+            DiscretizedSpecimen jump = new DiscretizedSpecimen("s", 100, false, 0.01, 6, 2, seeds[h]);
+            DiscretizedSpecimen stepped = new DiscretizedSpecimen("s", 100, false, 0.01, 6, 2, seeds[h]);
+            double critical = jump.getDestructionForce();
+            double[] history = histories[h];
+
+            for (DiscretizedSpecimen specimen : new DiscretizedSpecimen[]{jump, stepped}) {
+                specimen.applyForce(history[0] * critical);
+                specimen.applyForce(history[1] * critical);
+            }
+            jump.applyForce(history[2] * critical);
+            for (int k = 1; k <= 1000; k++)
+                stepped.applyForce(critical * (history[1] + (history[2] - history[1]) * k / 1000));
+
+            assertTrue(jump.isConverged(), "seed " + seeds[h]);
+            assertFalse(jump.isBroken(), "seed " + seeds[h]);
+            assertEquals(stepped.getForceRatio(), jump.getForceRatio(), 1e-9, "seed " + seeds[h]);
+        }
+    }
+
+    @Test
+    void resetRestoresElasticState() {
+        DiscretizedSpecimen specimen = new DiscretizedSpecimen("s", 100, false, 0.01, 8, 30, 7);
+        double critical = specimen.getDestructionForce();
+        specimen.applyForce(1.1 * critical);
+        assertTrue(specimen.getForceRatio() >= 1);
+
+        specimen.reset();
+        specimen.applyForce(0.5 * critical);
+        assertFalse(specimen.isBroken());
+        assertTrue(specimen.isConverged());
+        assertEquals(0.5, specimen.getForceRatio(), 1e-12);
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.presssimulation.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Событийный режим с шагом dt должен попадать на те же шаги, что и пошаговый прогон runToCompletion(dt)
+class EventDrivenTest {
+    private static final double PISTON_AREA = 0.01;
+    private static final double MAX_PRESSURE = 300e6;
+    private static final double[] STRENGTHS = {5, 47.3, 100, 150, 250, 299.99, 300, 333.3}; // МПа
+    private static final double[] AREAS = {0.0025, 0.01, 0.013};
+    private static final double[] STEPS = {0.01, 0.005, 0.001, 0.0003, 0.0001};
+    private static final double[] INCREMENTS = {10e6, 33.3e6, 50e6, 120e6};
+
+    @Test
+    void linearRampMatchesSteppedRun() {
+        for (double strength : STRENGTHS)
+            for (double area : AREAS)
+                for (double increment : INCREMENTS)
+                    for (double dt : STEPS) {
+                        PressEngine engine = new PressEngine(new SpecimenState("s", strength, true, area),
+                            PISTON_AREA, MAX_PRESSURE, increment);
+                        assertSameOutcome(engine, dt, strength + " МПа, " + area + " м², " + increment + " Па/с, dt " + dt);
+                    }
+    }
+
+    @Test
+    void pressureProgramsMatchSteppedRun() {
+        List<PressureProgram> programs = List.of(
+            new PressureProgram(List.of(new PressureProgram.Ramp(150e6, 5), new PressureProgram.Hold(2),
+                new PressureProgram.Ramp(300e6, 3)), PressureProgram.DEFAULT_RESOLUTION),
+            new PressureProgram(List.of(new PressureProgram.Hold(1), new PressureProgram.Step(120e6), new PressureProgram.Hold(1),
+                new PressureProgram.Step(260e6), new PressureProgram.Hold(1)), PressureProgram.DEFAULT_RESOLUTION),
+            new PressureProgram(List.of(new PressureProgram.Ramp(100e6, 2), new PressureProgram.Sine(60e6, 1, 4)), 0.002),
+            new PressureProgram(List.of(new PressureProgram.Samples(List.of(1.0, 2.0, 2.5), List.of(80e6, 80e6, 310e6))),
+                PressureProgram.DEFAULT_RESOLUTION)
+        );
+
+        for (PressureProgram program : programs) {
+            PressureProfile profile = program.compile();
+            for (double strength : STRENGTHS)
+                for (double area : AREAS)
+                    for (double dt : STEPS) {
+                        PressEngine engine = new PressEngine(new SpecimenState("s", strength, true, area),
+                            PISTON_AREA, MAX_PRESSURE, 0);
+                        engine.getHydraulics().setProfile(profile);
+                        assertSameOutcome(engine, dt, program.segments() + ", " + strength + " МПа, " + area + " м², dt " + dt);
+                    }
+        }
+    }
+
+    @Test
+    void contactGapsMatchSteppedRun() {
+        // зазоры, при которых контакт приходится ровно на шаг, рядом с ним и за пределом хода
+        double[] gaps = {70, 70.1, 100, 123.456, PressEngine.DEFAULT_GAP, PressEngine.DEFAULT_GAP + 1e-9, PressEngine.DEFAULT_GAP + 1};
+        for (double gap : gaps)
+            for (double dt : STEPS) {
+                PressEngine engine = new PressEngine(new PistonState(PISTON_AREA), new HydraulicState(MAX_PRESSURE, 50e6),
+                    new SpecimenState("s", 100, true, 0.01), gap);
+                assertSameOutcome(engine, dt, "зазор " + gap + ", dt " + dt);
+            }
+    }
+
+    // Миллион шагов: фиксированный запас на округление здесь уже ошибался бы на шаг
+    @Test
+    void longRunWithSmallStepMatchesSteppedRun() {
+        for (double strength : new double[]{100, 100.00000001, 123.4567}) {
+            PressEngine engine = new PressEngine(new SpecimenState("s", strength, true, 0.01), PISTON_AREA, MAX_PRESSURE, 1e6);
+            assertSameOutcome(engine, 1e-4, strength + " МПа, 1 МПа/с, dt 1e-4");
+        }
+    }
+
+    // Предел времени до контакта, между контактом и разрушением, ровно на границе шага и после разрушения:
+    // событийный прогон останавливается на том же шаге и с тем же давлением, что и пошаговый
+    @Test
+    void maxTimeStopsAtSameStep() {
+        // контакт на 2.1 с, разрушение 100 МПа при 10 МПа/с - ещё через 10 с, максимум 300 МПа - через 30 с
+        double[] limits = {1e-3, 1, 2.1, 2.105, 5, 12.1, 12.1 + 1e-9, 20, 32.1, 40};
+        List<PressureProgram> programs = List.of(
+            new PressureProgram(List.of(new PressureProgram.Ramp(150e6, 5), new PressureProgram.Hold(2),
+                new PressureProgram.Ramp(300e6, 3)), PressureProgram.DEFAULT_RESOLUTION));
+        for (double maxTime : limits)
+            for (double dt : STEPS) {
+                for (double strength : new double[]{100, 400}) {
+                    PressEngine engine = new PressEngine(new SpecimenState("s", strength, true, 0.01), PISTON_AREA, MAX_PRESSURE, 10e6);
+                    assertSameOutcome(engine, dt, maxTime, strength + " МПа, предел " + maxTime + " с, dt " + dt);
+                }
+                PressEngine programmed = new PressEngine(new SpecimenState("s", 200, true, 0.01), PISTON_AREA, MAX_PRESSURE, 0);
+                programmed.getHydraulics().setProfile(programs.get(0).compile());
+                assertSameOutcome(programmed, dt, maxTime, "программа, предел " + maxTime + " с, dt " + dt);
+
+                PressEngine unreachable = new PressEngine(new PistonState(PISTON_AREA), new HydraulicState(MAX_PRESSURE, 10e6),
+                    new SpecimenState("s", 100, true, 0.01), PressEngine.DEFAULT_GAP + 1);
+                assertSameOutcome(unreachable, dt, maxTime, "без контакта, предел " + maxTime + " с, dt " + dt);
+            }
+    }
+
+    @Test
+    void zeroStepStopsAtMaxTime() {
+        PressEngine engine = new PressEngine(new SpecimenState("s", 100, true, 0.01), PISTON_AREA, MAX_PRESSURE, 10e6);
+        double contact = PistonState.MAX_EXTENSION / PressEngine.AUTO_SPEED;
+
+        PressOutcome beforeContact = engine.runEventDriven(0, contact / 2);
+        assertFalse(beforeContact.broken());
+        assertTrue(Double.isNaN(beforeContact.contactTime()));
+        assertEquals(contact / 2, engine.getTime(), 1e-12);
+
+        PressOutcome ramping = engine.runEventDriven(0, contact + 4);
+        assertFalse(ramping.broken());
+        assertEquals(contact, ramping.contactTime(), 1e-12);
+        assertEquals(40e6, ramping.pressure(), 1e-3);
+
+        PressOutcome atFailure = engine.runEventDriven(0, contact + 10);
+        assertTrue(atFailure.broken());
+        assertEquals(contact + 10, atFailure.failureTime(), 1e-12);
+    }
+
+    @Test
+    void zeroStepGivesExactEventTimes() {
+        PressEngine engine = new PressEngine(new SpecimenState("s", 100, true, 0.01), PISTON_AREA, MAX_PRESSURE, 10e6);
+        PressOutcome outcome = engine.runEventDriven(0);
+
+        assertTrue(outcome.broken());
+        assertEquals(PistonState.MAX_EXTENSION / PressEngine.AUTO_SPEED, outcome.contactTime(), 1e-12);
+        assertEquals(outcome.contactTime() + 10, outcome.failureTime(), 1e-12);
+        assertEquals(100e6, outcome.pressure(), 1e-3);
+    }
+
+    private static void assertSameOutcome(PressEngine engine, double dt, String label) {
+        assertSameOutcome(engine, dt, Double.MAX_VALUE, label);
+    }
+    private static void assertSameOutcome(PressEngine engine, double dt, double maxTime, String label) {
+        PressOutcome stepped = engine.runToCompletion(dt, maxTime);
+        double steppedTime = engine.getTime();
+        PressOutcome event = engine.runEventDriven(dt, maxTime);
+
+        assertEquals(stepped.broken(), event.broken(), label + ": разрушение");
+        assertSameStep(stepped.contactTime(), event.contactTime(), dt, label + ": контакт");
+        assertSameStep(stepped.failureTime(), event.failureTime(), dt, label + ": разрушение");
+        assertEquals(stepped.pressure(), event.pressure(), 1e-9 * Math.max(stepped.pressure(), 1), label + ": давление");
+        assertEquals(stepped.force(), event.force(), 1e-9 * Math.max(stepped.force(), 1), label + ": сила");
+        assertSameStep(steppedTime, engine.getTime(), dt, label + ": остановка");
+    }
+
+    // Пошаговое время накоплено сложением, поэтому сравниваются номера шагов, а не сами моменты
+    private static void assertSameStep(double expected, double actual, double dt, String label) {
+        if (Double.isNaN(expected)) {
+            assertTrue(Double.isNaN(actual), label + ": ожидалось NaN, получено " + actual);
+            return;
+        }
+        assertEquals(Math.round(expected / dt), Math.round(actual / dt), label + " (" + expected + " / " + actual + ")");
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.presssimulation.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MonteCarloFailureTest {
+    private static final WeibullStrength STRENGTH = new WeibullStrength(100e6, 8);
+
+    // Дерево разбиения и split() не зависят от пула: один поток и несколько дают ту же кривую до бита
+    @Test
+    void curveDoesNotDependOnThreadCount() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            MonteCarloFailure sequential = new MonteCarloFailure(STRENGTH, 0.01, 0.01, single);
+            MonteCarloFailure parallel = new MonteCarloFailure(STRENGTH, 0.01, 0.01, several);
+            for (long samples : new long[]{1, 1000, 100_003, 1 << 18}) {
+                FailureCurve expected = sequential.estimate(200e6, 41, samples, 42);
+                FailureCurve actual = parallel.estimate(200e6, 41, samples, 42);
+
+                assertArrayEquals(expected.probability(), actual.probability(), "образцов " + samples);
+                assertArrayEquals(expected.lower(), actual.lower(), "образцов " + samples);
+                assertArrayEquals(expected.upper(), actual.upper(), "образцов " + samples);
+                assertEquals(1, actual.probability()[actual.size() - 1], 1e-3, "образцов " + samples);
+            }
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsDegenerateGrid() {
+        MonteCarloFailure monteCarlo = new MonteCarloFailure(STRENGTH, 0.01, 0.01);
+        assertThrows(IllegalArgumentException.class, () -> monteCarlo.estimate(200e6, 1, 1000, 1));
+        assertThrows(IllegalArgumentException.class, () -> monteCarlo.estimate(200e6, 41, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> monteCarlo.estimate(0, 41, 1000, 1));
+        assertThrows(IllegalArgumentException.class, () -> monteCarlo.estimate(Double.NaN, 41, 1000, 1));
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.presssimulation.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpecimenStackTest {
+    private static final double EPSILON = 1e-9;
+
+    // Дерево Фенвика против прямого пересчёта положений: случайные подачи, отходы поршня и смятия слоёв
+    @Test
+    void matchesNaiveLayerPositions() {
+        Random random = new Random(20_250_418);
+        for (int trial = 0; trial < 40; trial++) {
+            int n = 1 + random.nextInt(trial < 20 ? 8 : 200);
+            List<Integer> strengths = new ArrayList<>();
+            for (int i = 0; i < n; i++)
+                strengths.add(10 + i);
+            Collections.shuffle(strengths, random);
+
+            List<SpecimenState> layers = new ArrayList<>();
+            double[] thickness = new double[n];
+            double[] gaps = new double[n + 1];
+            for (int i = 0; i < n; i++) {
+                layers.add(new SpecimenState("L" + i, strengths.get(i), random.nextBoolean(), 0.01));
+                thickness[i] = 0.5 + random.nextDouble();
+                gaps[i] = random.nextBoolean() ? 0 : random.nextDouble();
+            }
+            gaps[n] = random.nextDouble();
+            SpecimenStack stack = new SpecimenStack(layers, thickness, gaps);
+
+            // прямой расчёт: передняя грань каждого слоя и толщины
+            double[] position = new double[n];
+            double[] width = thickness.clone();
+            double front = 0;
+            for (int i = 0; i < n; i++) {
+                front += gaps[i];
+                position[i] = front;
+                front += thickness[i];
+            }
+            double wall = front + gaps[n];
+            boolean[] broken = new boolean[n];
+            double lastBrokenForce = 0;
+
+            double travel = 0;
+            for (int step = 0; step < 400 && !stack.isBroken(); step++) {
+                travel += random.nextDouble() * 0.5 - 0.1; // иногда назад
+
+                double closing = wall;
+                for (double value : width)
+                    closing -= value;
+                double pushed = Math.min(travel, closing);
+                double behind = 0;
+                for (int i = 0; i < n; i++) {
+                    position[i] = Math.max(position[i], pushed + behind); // поршень назад слои не тянет
+                    behind += width[i];
+                }
+
+                String label = "пакет " + trial + ", шаг " + step;
+                assertEquals(travel >= closing - EPSILON, stack.pushTo(travel), label + ": контакт");
+                for (int i = 0; i < n; i++) {
+                    assertEquals(position[i], stack.getLayerPosition(i), EPSILON, label + ": слой " + i);
+                    assertEquals(width[i], stack.getLayerThickness(i), EPSILON, label + ": толщина " + i);
+                    double next = i + 1 < n ? stack.getLayerPosition(i + 1) : stack.getEndPosition();
+                    assertTrue(stack.getLayerPosition(i) + stack.getLayerThickness(i) <= next + EPSILON, label + ": перекрытие " + i);
+                }
+                assertEquals(wall, stack.getEndPosition(), EPSILON, label + ": опора");
+
+                if (travel < closing - EPSILON || random.nextInt(3) > 0)
+                    continue;
+
+                // слабейший целый слой рвётся, если сила до него дошла
+                int weakest = -1;
+                for (int i = 0; i < n; i++) {
+                    if (!broken[i] && (weakest < 0 || strengths.get(i) < strengths.get(weakest)))
+                        weakest = i;
+                }
+                double threshold = layers.get(weakest).getDestructionForce();
+                double force = threshold * (random.nextBoolean() ? 1 : random.nextDouble(0.5, 1.5));
+                boolean crushes = force >= threshold;
+                assertEquals(crushes, stack.applyForce(force), label + ": разрушение");
+                if (!crushes)
+                    continue;
+
+                assertEquals(weakest, stack.getLastBroken(), label + ": разрушился не слабейший");
+                assertTrue(threshold >= lastBrokenForce, label + ": слои рвутся по возрастанию прочности");
+                lastBrokenForce = threshold;
+                broken[weakest] = true;
+
+                double crushed = width[weakest] * (layers.get(weakest).isFragile() ? 0.75 : 0.4);
+                width[weakest] -= crushed;
+                position[weakest] += crushed;
+                travel -= random.nextDouble(); // поршень отходит после разгрузки
+            }
+        }
+    }
+
+    // Ручной отход поршня от пакета со смятым слоем снимает нагрузку, но смятый слой не восстанавливает
+    @Test
+    void losingContactKeepsCrushedLayers() {
+        SpecimenStack stack = new SpecimenStack(List.of(new SpecimenState("a", 50, true, 0.01), new SpecimenState("b", 80, true, 0.01)),
+            new double[]{20, 20}, new double[]{5, 0, 10});
+        PressEngine engine = new PressEngine(new PistonState(0.01), new HydraulicState(300e6, 50e6), stack, 100);
+
+        engine.extend(100 - PistonState.PRESS_WIDTH - PistonState.PRESS_OFFSET + 15); // 5 до пакета и 10 до опоры
+        assertTrue(engine.isPressing());
+        while (stack.getBrokenCount() == 0)
+            engine.step(0.01);
+        assertFalse(engine.isPressing(), "смятый слой открыл зазор");
+        assertEquals(0, stack.getLastBroken());
+
+        engine.retract(3);
+        engine.extend(1);
+        assertEquals(1, stack.getBrokenCount());
+        assertTrue(stack.getLayer(0).isBroken());
+        assertFalse(engine.isPressing());
+
+        engine.extend(20); // зазор выбран, пакет снова под нагрузкой
+        assertTrue(engine.isPressing());
+        assertEquals(1, stack.getBrokenCount());
+    }
+
+    // В авто режиме пакет останавливает поршень, пока идёт нажатие; одиночный образец - нет, как и раньше
+    @Test
+    void autoModeStopsPistonOnlyAtStack() {
+        PressEngine single = new PressEngine(new PistonState(0.01), new HydraulicState(300e6, 10e6),
+            new SpecimenState("s", 100, true, 0.01), 100);
+        SpecimenStack stack = new SpecimenStack(List.of(new SpecimenState("a", 100, true, 0.01)), new double[]{20}, new double[]{0, 0});
+        PressEngine layered = new PressEngine(new PistonState(0.01), new HydraulicState(300e6, 10e6), stack, 100);
+
+        for (PressEngine engine : new PressEngine[]{single, layered}) {
+            engine.setAutoMode(true);
+            while (!engine.isPressing())
+                engine.step(0.01);
+        }
+        double singleContact = single.getPiston().getExtension();
+        double layeredContact = layered.getPiston().getExtension();
+        for (int i = 0; i < 100; i++) {
+            single.step(0.01);
+            layered.step(0.01);
+        }
+
+        assertEquals(singleContact + 100, single.getPiston().getExtension(), 1e-6);
+        assertEquals(layeredContact, layered.getPiston().getExtension());
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.presssimulation.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Прогонка против плотного метода Гаусса с выбором ведущего элемента на случайных системах
+class TridiagonalSolverTest {
+    @Test
+    void matchesDenseSolve() {
+        Random random = new Random(20_250_417);
+        TridiagonalSolver solver = new TridiagonalSolver(64);
+        for (int round = 0; round < 500; round++) {
+            int n = 1 + random.nextInt(64);
+            double[] lower = new double[n];
+            double[] diag = new double[n];
+            double[] upper = new double[n];
+            for (int i = 0; i < n; i++) {
+                lower[i] = i > 0 ? random.nextDouble(-1, 1) : Double.NaN; // lower[0] и upper[n-1] не должны читаться
+                upper[i] = i < n - 1 ? random.nextDouble(-1, 1) : Double.NaN;
+                double offDiagonal = (i > 0 ? Math.abs(lower[i]) : 0) + (i < n - 1 ? Math.abs(upper[i]) : 0);
+                diag[i] = (offDiagonal + random.nextDouble(0.01, 2)) * (random.nextBoolean() ? 1 : -1);
+            }
+
+            // несколько правых частей по одному разложению
+            solver.factor(lower, diag, upper, n);
+            for (int k = 0; k < 3; k++) {
+                double[] rhs = new double[n];
+                for (int i = 0; i < n; i++)
+                    rhs[i] = random.nextDouble(-1e3, 1e3);
+
+                double[] expected = denseSolve(lower, diag, upper, rhs);
+                double[] x = rhs.clone();
+                solver.solve(lower, x, x); // решение на месте правой части
+                for (int i = 0; i < n; i++)
+                    assertEquals(expected[i], x[i], 1e-9 * Math.max(1, Math.abs(expected[i])), "n " + n + ", x[" + i + "]");
+            }
+        }
+    }
+
+    // Матрица жёсткости стержня, как её собирает DiscretizedSpecimen: невязка решения на уровне округления
+    @Test
+    void solvesStiffnessMatrix() {
+        int n = 1000;
+        double stiffness = 2e9;
+        double support = 1e6;
+        double[] lower = new double[n];
+        double[] diag = new double[n];
+        double[] upper = new double[n];
+        for (int i = 0; i < n; i++) {
+            lower[i] = i > 0 ? -stiffness : 0;
+            diag[i] = stiffness + (i > 0 ? stiffness + support : 0);
+            upper[i] = -stiffness;
+        }
+        double[] rhs = new double[n];
+        rhs[0] = 1e5;
+
+        double[] x = new double[n];
+        new TridiagonalSolver(n).solve(lower, diag, upper, rhs, x, n);
+        for (int i = 0; i < n; i++) {
+            double row = (i > 0 ? lower[i] * x[i - 1] : 0) + diag[i] * x[i] + (i < n - 1 ? upper[i] * x[i + 1] : 0);
+            assertEquals(rhs[i], row, 1e-6 * rhs[0], "строка " + i);
+        }
+    }
+
+    private static double[] denseSolve(double[] lower, double[] diag, double[] upper, double[] rhs) {
+        int n = diag.length;
+        double[][] a = new double[n][n + 1];
+        for (int i = 0; i < n; i++) {
+            if (i > 0)
+                a[i][i - 1] = lower[i];
+            a[i][i] = diag[i];
+            if (i < n - 1)
+                a[i][i + 1] = upper[i];
+            a[i][n] = rhs[i];
+        }
+
+        for (int col = 0; col < n; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < n; row++) {
+                if (Math.abs(a[row][col]) > Math.abs(a[pivot][col]))
+                    pivot = row;
+            }
+            double[] swap = a[col];
+            a[col] = a[pivot];
+            a[pivot] = swap;
+
+            for (int row = col + 1; row < n; row++) {
+                double factor = a[row][col] / a[col][col];
+                for (int k = col; k <= n; k++)
+                    a[row][k] -= factor * a[col][k];
+            }
+        }
+
+        double[] x = new double[n];
+        for (int row = n - 1; row >= 0; row--) {
+            double sum = a[row][n];
+            for (int k = row + 1; k < n; k++)
+                sum -= a[row][k] * x[k];
+            x[row] = sum / a[row][row];
+        }
+        return x;
+    }
+}
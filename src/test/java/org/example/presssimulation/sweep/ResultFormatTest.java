@@ -0,0 +1,46 @@
+package org.example.presssimulation.sweep;
+
+import org.example.presssimulation.MaterialConfig;
+import org.example.presssimulation.engine.PressOutcome;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultFormatTest {
+    private static final PressOutcome OUTCOME = new PressOutcome(true, 1.5, 2.5, 100e6, 1e6);
+
+    @Test
+    void csvQuotesNamesThatWouldBreakTheRow() {
+        assertEquals("Сталь", csvName("Сталь"));
+        assertEquals("\"Бетон, М300\"", csvName("Бетон, М300"));
+        assertEquals("\"Гранит \"\"серый\"\"\"", csvName("Гранит \"серый\""));
+        assertEquals("\"Бетон\nМ300\"", csvName("Бетон\nМ300"));
+        assertEquals("\"Бетон\r\nМ300\"", csvName("Бетон\r\nМ300"));
+    }
+
+    @Test
+    void parseAcceptsKnownFormatsOnly() {
+        assertEquals(ResultFormat.CSV, ResultFormat.parse(" csv "));
+        assertEquals(ResultFormat.JSON, ResultFormat.parse("Json"));
+        assertThrows(IllegalArgumentException.class, () -> ResultFormat.parse("xml"));
+    }
+
+    private static String csvName(String name) {
+        StringBuilder row = new StringBuilder();
+        ResultFormat.CSV.appendRow(row, true, new MaterialConfig(name, 30, true, 0.01), 0.01, 300e6, 10e6, OUTCOME);
+        String text = row.toString();
+        assertTrue(text.endsWith(",true,1.5,2.5,100.0,1000.0\n"), text);
+        // имя - всё до первой запятой вне кавычек
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"')
+                quoted = !quoted;
+            else if (c == ',' && !quoted)
+                return text.substring(0, i);
+        }
+        return text;
+    }
+}